@@ -6,6 +6,7 @@ plugins {
 	jacoco
 	id("org.sonarqube") version "6.2.0.5505"
 	id("io.freefair.lombok") version "8.14"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "hexlet.code"
@@ -51,9 +52,18 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web:3.5.6")
 	implementation("org.springframework.boot:spring-boot-starter-validation:3.5.6")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa:3.5.6")
+	implementation("org.springframework.boot:spring-boot-starter-actuator:3.5.6")
+	implementation("org.springframework.boot:spring-boot-starter-aop:3.5.6")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+	implementation("org.hibernate.orm:hibernate-micrometer:6.6.22.Final")
+	implementation("org.hibernate.orm:hibernate-jcache:6.6.22.Final")
+	implementation("com.github.ben-manes.caffeine:caffeine:3.2.2")
+	implementation("com.github.ben-manes.caffeine:jcache:3.2.2")
+	implementation("com.google.crypto.tink:tink:1.18.0")
 	implementation("org.postgresql:postgresql:42.7.7")
 	implementation("org.mapstruct:mapstruct:1.6.3")
 	implementation("org.openapitools:jackson-databind-nullable:0.2.6")
+	implementation("com.fasterxml.jackson.module:jackson-module-blackbird:2.19.2")
     implementation("org.springframework.boot:spring-boot-starter-security:3.5.6")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server:3.5.6")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.14")
@@ -68,6 +78,7 @@ dependencies {
 	testImplementation("org.springframework.security:spring-security-test:6.5.2")
 	testImplementation("net.datafaker:datafaker:2.4.4")
 	testImplementation("org.instancio:instancio-junit:5.5.1")
+	testImplementation("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
@@ -75,12 +86,76 @@ tasks.withType<Test> {
 }
 
 tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark", "loadtest")
+    }
     testLogging {
         events("passed", "skipped", "failed")
 //        showStandardStreams = true
     }
 }
 
+tasks.register<Test>("benchmark") {
+    description = "Runs integration benchmarks tagged with 'benchmark'."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    maxHeapSize = "2g"
+    systemProperty("benchmark.tasks", System.getProperty("benchmark.tasks") ?: "1000000")
+    testLogging {
+        events("passed", "skipped", "failed")
+        showStandardStreams = true
+    }
+}
+
+// HTTP load test against the app on a random port, see HttpLoadTest for the -Dloadtest.* options.
+// -Dspring.datasource.* points it at another database, e.g. a local Postgres.
+tasks.register<Test>("loadTest") {
+    description = "Runs the HTTP load test tagged with 'loadtest'."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("loadtest")
+    }
+    maxHeapSize = "2g"
+    System.getProperties().stringPropertyNames()
+        .filter { it.startsWith("loadtest.") || it.startsWith("spring.datasource.") }
+        .forEach { systemProperty(it, System.getProperty(it)) }
+    outputs.upToDateWhen { false }
+    testLogging {
+        events("passed", "skipped", "failed")
+        showStandardStreams = true
+    }
+}
+
+// Microbenchmarks in src/jmh, run with `./gradlew jmh` (-PjmhIncludes=<regex> to select).
+// Results with the GC profiler's allocation rate go to build/results/jmh/results.json,
+// -PjmhResults=<file> writes them elsewhere, e.g. to keep a baseline for comparison.
+jmh {
+	fork = 1
+	warmupIterations = 2
+	iterations = 5
+	timeOnIteration = "2s"
+	warmup = "2s"
+	profilers = listOf("gc")
+	resultFormat = "JSON"
+	if (project.hasProperty("jmhIncludes")) {
+		includes = listOf(project.property("jmhIncludes") as String)
+	}
+	if (project.hasProperty("jmhResults")) {
+		resultsFile = file(project.property("jmhResults") as String)
+	}
+}
+
+// DevTools would restart the benchmarked context from its own class loader and turn off template caching
+configurations.named("jmhRuntimeClasspath") {
+	exclude(group = "org.springframework.boot", module = "spring-boot-devtools")
+}
+
 tasks.jacocoTestReport {
     reports {
         xml.required = true
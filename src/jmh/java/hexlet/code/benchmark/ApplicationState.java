@@ -0,0 +1,39 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// The application started once per fork with the dev profile (in-memory H2) and quiet logs, for benchmarks
+// of beans that need the Spring context: mappers resolve statuses through the dictionary, the validator
+// and the ObjectMapper are configured by Boot.
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(AppApplication.class).run(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--sentry.dsn=",
+                "--logging.level.root=WARN",
+                "--logging.level.hexlet.code=WARN",
+                "--logging.level.org.springframework.security=WARN");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
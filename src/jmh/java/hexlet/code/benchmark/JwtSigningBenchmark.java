@@ -0,0 +1,66 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.util.JWTUtils;
+import hexlet.code.util.JwtKeyRing;
+import hexlet.code.util.KeyRingJwtDecoder;
+import hexlet.code.util.KeyRingJwtEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+// Sign and verify throughput of a login token per algorithm, through the same encoder and decoder as the app
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtSigningBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private JwtKeyRing.Algorithm algorithm;
+
+    private JwtEncoder encoder;
+    private JwtDecoder decoder;
+    private JwtEncoderParameters parameters;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        var keyRing = new JwtKeyRing(algorithm, algorithm.generateKey(), Duration.ofHours(1));
+        encoder = new KeyRingJwtEncoder(keyRing);
+        decoder = new KeyRingJwtDecoder(keyRing);
+
+        var now = Instant.now();
+        parameters = JwtEncoderParameters.from(JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plus(Duration.ofHours(1)))
+                .subject("hexlet@example.com")
+                .claim(JWTUtils.USER_ID_CLAIM, 1L)
+                .claim(JWTUtils.TOKEN_VERSION_CLAIM, JWTUtils.TOKEN_VERSION)
+                .build());
+        token = encoder.encode(parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt sign() {
+        return encoder.encode(parameters);
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return decoder.decode(token);
+    }
+}
@@ -0,0 +1,68 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hexlet.code.dto.task.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TaskDTO lists through the application ObjectMapper (JacksonConfig: Blackbird, JsonNullable, JavaTime)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskJsonBenchmark {
+
+    @Param({"1", "100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<TaskDTO> tasks;
+    private byte[] json;
+
+    @Setup
+    public void setup(ApplicationState application) throws Exception {
+        var objectMapper = application.getBean(ObjectMapper.class);
+        var listType = objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDTO.class);
+        writer = objectMapper.writerFor(listType);
+        reader = objectMapper.readerFor(listType);
+
+        tasks = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            var task = new TaskDTO();
+            task.setId(i);
+            task.setIndex(i);
+            task.setTitle("Task title " + i);
+            task.setContent("Task description " + i);
+            task.setStatus("draft");
+            task.setAssigneeId(1L);
+            task.setTaskLabelIds(List.of(1L, 2L, 3L));
+            task.setCreatedAt(LocalDateTime.now());
+            task.setVersion(0L);
+            tasks.add(task);
+        }
+        json = writer.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<TaskDTO> deserialize() throws Exception {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,89 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repositories.TaskStatusRepository;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// TaskMapper on detached entities: entity -> DTO with N labels, and a JsonNullable partial update
+// of the scalar fields. References are not resolved, those calls go to the database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMappingBenchmark {
+
+    @Param({"0", "5", "50"})
+    private int labelCount;
+
+    private TaskMapper taskMapper;
+    private Task task;
+    private TaskUpdateDTO updateDTO;
+    private Task updateTarget;
+
+    @Setup
+    public void setup(ApplicationState application) {
+        taskMapper = application.getBean(TaskMapper.class);
+
+        var taskStatus = new TaskStatus();
+        taskStatus.setId(application.getBean(TaskStatusRepository.class).findBySlug("draft").orElseThrow().getId());
+        taskStatus.setSlug("draft");
+        var assignee = new User();
+        assignee.setId(1L);
+
+        var labels = new ArrayList<Label>();
+        for (long i = 1; i <= labelCount; i++) {
+            var label = new Label();
+            label.setId(i);
+            labels.add(label);
+        }
+
+        task = new Task();
+        task.setId(1L);
+        task.setIndex(1L);
+        task.setName("Task title");
+        task.setDescription("Task description");
+        task.setTaskStatus(taskStatus);
+        task.setAssignee(assignee);
+        task.setLabels(labels);
+        task.setCreatedAt(LocalDateTime.now());
+
+        updateDTO = new TaskUpdateDTO();
+        updateDTO.setTitle(JsonNullable.of("Updated title"));
+        updateDTO.setContent(JsonNullable.of("Updated description"));
+        updateDTO.setIndex(JsonNullable.of(2L));
+        updateDTO.setStatus(JsonNullable.undefined());
+        updateDTO.setAssigneeId(JsonNullable.undefined());
+        updateDTO.setTaskLabelIds(JsonNullable.undefined());
+
+        updateTarget = new Task();
+        updateTarget.setLabels(labels);
+    }
+
+    @Benchmark
+    public TaskDTO mapToDto() {
+        return taskMapper.map(task);
+    }
+
+    @Benchmark
+    public Task updateFromJsonNullable() {
+        taskMapper.update(updateDTO, updateTarget);
+        return updateTarget;
+    }
+}
@@ -0,0 +1,63 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.specification.TaskSpecification;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TaskSpecification.build for an empty and a full filter, alone and turned into a criteria predicate
+// the way the repository does before rendering SQL. Nothing is executed.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskSpecificationBenchmark {
+
+    @Param({"empty", "full"})
+    private String filter;
+
+    private TaskSpecification taskSpecification;
+    private CriteriaBuilder criteriaBuilder;
+    private TaskParamsDTO params;
+
+    @Setup
+    public void setup(ApplicationState application) {
+        taskSpecification = application.getBean(TaskSpecification.class);
+        criteriaBuilder = application.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+
+        params = new TaskParamsDTO();
+        if ("full".equals(filter)) {
+            params.setTitleCont("task");
+            params.setAssigneeIds(List.of(1L, 2L, 3L));
+            params.setUnassigned(true);
+            params.setStatuses(List.of("draft", "published"));
+            params.setLabelIds(List.of(1L, 2L));
+            params.setLabelMatch("all");
+        }
+    }
+
+    @Benchmark
+    public Specification<Task> build() {
+        return taskSpecification.build(params);
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        var query = criteriaBuilder.createQuery(Task.class);
+        var root = query.from(Task.class);
+        return taskSpecification.build(params).toPredicate(root, query, criteriaBuilder);
+    }
+}
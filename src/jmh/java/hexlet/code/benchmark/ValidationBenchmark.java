@@ -0,0 +1,64 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.CustomValidator;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskUpdateDTO;
+import jakarta.validation.ConstraintViolationException;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// CustomValidator.validate on task DTOs through the Boot-configured Validator: valid create and update
+// payloads, and an invalid create that builds the violation message and throws.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    private CustomValidator validator;
+    private TaskCreateDTO validCreate;
+    private TaskCreateDTO invalidCreate;
+    private TaskUpdateDTO validUpdate;
+
+    @Setup
+    public void setup(ApplicationState application) {
+        validator = application.getBean(CustomValidator.class);
+
+        validCreate = new TaskCreateDTO(1L, "Task title", "Task description", "draft", 1L, List.of(1L, 2L));
+        invalidCreate = new TaskCreateDTO(1L, "", "Task description", null, 1L, List.of());
+
+        validUpdate = new TaskUpdateDTO();
+        validUpdate.setTitle(JsonNullable.of("Updated title"));
+        validUpdate.setStatus(JsonNullable.of("published"));
+    }
+
+    @Benchmark
+    public TaskCreateDTO validateCreate() {
+        validator.validate(validCreate);
+        return validCreate;
+    }
+
+    @Benchmark
+    public TaskUpdateDTO validateUpdate() {
+        validator.validate(validUpdate);
+        return validUpdate;
+    }
+
+    @Benchmark
+    public ConstraintViolationException validateInvalidCreate() {
+        try {
+            validator.validate(invalidCreate);
+            throw new IllegalStateException("Expected constraint violations");
+        } catch (ConstraintViolationException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package hexlet.code.component;
+
+import hexlet.code.util.CachingJwtDecoder;
+import hexlet.code.util.JWTUtils;
+import hexlet.code.util.KeyRingJwtDecoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Access tokens are checked from their claims alone, so revoking a user's sessions records the time of the
+// revocation and every token of the user issued up to it is rejected after decoding. An entry is dropped once
+// all such tokens have expired. The list is kept per instance, like the rate limiter buckets.
+@Component
+public class AccessTokenDenylist {
+
+    private final CachingJwtDecoder jwtDecoder;
+
+    private final Map<Long, Instant> revokedAt = new ConcurrentHashMap<>();
+
+    @Value("${security.jwt.access-token-ttl:PT1H}")
+    private Duration accessTokenTtl;
+
+    public AccessTokenDenylist(CachingJwtDecoder jwtDecoder) {
+        this.jwtDecoder = jwtDecoder;
+    }
+
+    public void revokeAll(long userId) {
+        var now = Instant.now();
+        var retention = accessTokenTtl.plus(KeyRingJwtDecoder.CLOCK_SKEW);
+        revokedAt.values().removeIf(at -> at.plus(retention).isBefore(now));
+        revokedAt.merge(userId, now, (previous, current) -> current.isAfter(previous) ? current : previous);
+
+        jwtDecoder.evictIf(jwt -> isOf(jwt, userId));
+    }
+
+    public boolean isRevoked(Jwt jwt, long userId) {
+        var at = revokedAt.get(userId);
+        if (at == null) {
+            return false;
+        }
+
+        // iat has whole seconds, tokens issued before the millisecond claim fall back to it
+        Number issuedAtMillis = jwt.getClaim(JWTUtils.ISSUED_AT_MILLIS_CLAIM);
+        var issuedAt = issuedAtMillis != null
+                ? Instant.ofEpochMilli(issuedAtMillis.longValue())
+                : jwt.getIssuedAt();
+        return issuedAt == null || !issuedAt.isAfter(at);
+    }
+
+    private static boolean isOf(Jwt jwt, long userId) {
+        Number tokenUserId = jwt.getClaim(JWTUtils.USER_ID_CLAIM);
+        return tokenUserId != null && tokenUserId.longValue() == userId;
+    }
+}
@@ -0,0 +1,81 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.user.UserDTO;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Shared writer for the streamed task payloads. Serializers are built and cached per ObjectMapper, so
+// warming up the task and user serializers here also serves the HTTP message converter, which writes
+// through the same mapper: the first requests don't pay for serializer construction and Blackbird
+// accessor generation.
+@Slf4j
+@Component
+public class JsonWriters {
+
+    private static final int WARMUP_ITERATIONS = 200;
+
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    private final ObjectWriter taskWriter;
+
+    public JsonWriters(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.taskWriter = objectMapper.writerFor(TaskDTO.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        var start = System.nanoTime();
+        var task = sampleTask();
+        var user = sampleUser();
+
+        try {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                taskWriter.writeValueAsBytes(task);
+                objectMapper.writeValueAsBytes(user);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("JSON writers warm-up failed", e);
+            return;
+        }
+
+        log.info("JSON writers warmed up in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Every property is set, so the serializers of all nested types are resolved as well
+    private static TaskDTO sampleTask() {
+        var task = new TaskDTO();
+        task.setId(1L);
+        task.setIndex(1L);
+        task.setTitle("title");
+        task.setContent("content");
+        task.setStatus("draft");
+        task.setAssigneeId(1L);
+        task.setTaskLabelIds(List.of(1L));
+        task.setCreatedAt(LocalDateTime.now());
+        task.setVersion(0L);
+        return task;
+    }
+
+    private static UserDTO sampleUser() {
+        var user = new UserDTO();
+        user.setId(1L);
+        user.setFirstName("first");
+        user.setLastName("last");
+        user.setEmail("user@example.com");
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+}
@@ -0,0 +1,25 @@
+package hexlet.code.component;
+
+import com.nimbusds.jose.JOSEException;
+import hexlet.code.util.JwtKeyRing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Rotates the token signing key on security.jwt.key-rotation-cron, disabled by default. Keys live in memory
+// of this instance, so each node of a cluster publishes its own keys in the JWKS.
+@Slf4j
+@Component
+public class JwtKeyRotationJob {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    public JwtKeyRotationJob(JwtKeyRing jwtKeyRing) {
+        this.jwtKeyRing = jwtKeyRing;
+    }
+
+    @Scheduled(cron = "${security.jwt.key-rotation-cron:-}")
+    public void rotate() throws JOSEException {
+        log.info("JWT signing key rotated, new kid {}", jwtKeyRing.rotate());
+    }
+}
@@ -0,0 +1,96 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token buckets per route group and key (client IP or username). A bucket is one CAS-updated long, the time
+// at which it would be full again, so checks never lock. Buckets live in a size-bounded cache and are dropped
+// after security.rate-limit.idle-timeout without requests; a dropped bucket comes back full.
+@Component
+public class RateLimiter {
+
+    public enum Group {
+        LOGIN_IP("login-ip", 20, Duration.ofMinutes(1)),
+        LOGIN_USERNAME("login-username", 10, Duration.ofMinutes(1)),
+        WRITE("write", 300, Duration.ofMinutes(1));
+
+        private final String property;
+        private final long defaultCapacity;
+        private final Duration defaultPeriod;
+
+        Group(String property, long defaultCapacity, Duration defaultPeriod) {
+            this.property = property;
+            this.defaultCapacity = defaultCapacity;
+            this.defaultPeriod = defaultPeriod;
+        }
+    }
+
+    // capacity requests at once, refilled evenly over period
+    private record Limit(long capacity, long intervalNanos) {
+    }
+
+    private record BucketKey(Group group, String key) {
+    }
+
+    private final boolean enabled;
+    private final Map<Group, Limit> limits = new EnumMap<>(Group.class);
+    private final Map<Group, LongAdder> rejections = new EnumMap<>(Group.class);
+    private final Cache<BucketKey, AtomicLong> buckets;
+
+    public RateLimiter(Environment environment, MeterRegistry registry) {
+        this.enabled = environment.getProperty("security.rate-limit.enabled", Boolean.class, true);
+        for (var group : Group.values()) {
+            var prefix = "security.rate-limit." + group.property;
+            var capacity = environment.getProperty(prefix + ".capacity", Long.class, group.defaultCapacity);
+            var period = environment.getProperty(prefix + ".period", Duration.class, group.defaultPeriod);
+            limits.put(group, new Limit(capacity, period.toNanos() / capacity));
+            var rejected = new LongAdder();
+            rejections.put(group, rejected);
+            FunctionCounter.builder("security.rate-limit.rejected", rejected, LongAdder::sum)
+                    .tag("group", group.property)
+                    .register(registry);
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(environment.getProperty("security.rate-limit.max-buckets", Long.class, 100_000L))
+                .expireAfterAccess(environment.getProperty("security.rate-limit.idle-timeout", Duration.class,
+                        Duration.ofMinutes(10)))
+                .build();
+    }
+
+    // 0 if the request may pass, otherwise the nanoseconds until it would
+    public long tryAcquire(Group group, String key) {
+        if (!enabled) {
+            return 0;
+        }
+
+        var limit = limits.get(group);
+        var now = System.nanoTime();
+        var fullAt = buckets.get(new BucketKey(group, key), ignored -> new AtomicLong(now));
+        while (true) {
+            var current = fullAt.get();
+            var next = Math.max(current, now) + limit.intervalNanos();
+            var allowedAt = next - limit.capacity() * limit.intervalNanos();
+            if (allowedAt > now) {
+                rejections.get(group).increment();
+                return allowedAt - now;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long getRejectedCount(Group group) {
+        return rejections.get(group).sum();
+    }
+}
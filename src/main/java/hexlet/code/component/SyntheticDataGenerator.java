@@ -0,0 +1,368 @@
+package hexlet.code.component;
+
+import hexlet.code.service.TaskStatsService;
+import hexlet.code.util.DatabaseUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.StringReader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+// Fills the database with a synthetic dataset for benchmarks, enabled by the datagen profile, e.g.
+//   --spring.profiles.active=dev,datagen --datagen.tasks=1000000
+// The same seed and cardinalities always produce the same rows. Assignees, statuses and labels follow
+// Zipf distributions, so a few of them carry most of the tasks. Rows bypass JPA: JDBC batches on H2,
+// COPY on Postgres. Generated users share the default user's password hash.
+@Slf4j
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final String EMAIL_DOMAIN = "@datagen.example.com";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int VOCABULARY_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseUtils databaseUtils;
+    private final DataInitializer dataInitializer;
+    private final TaskIdSequenceInitializer taskIdSequenceInitializer;
+    private final TaskStatsService taskStatsService;
+    private final TaskTitleIndex taskTitleIndex;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.users:2000}")
+    private int users;
+
+    @Value("${datagen.task-statuses:10}")
+    private int taskStatuses;
+
+    @Value("${datagen.labels:200}")
+    private int labels;
+
+    @Value("${datagen.tasks:1000000}")
+    private int tasks;
+
+    @Value("${datagen.max-labels-per-task:4}")
+    private int maxLabelsPerTask;
+
+    @Value("${datagen.unassigned-ratio:0.2}")
+    private double unassignedRatio;
+
+    @Value("${datagen.assignee-skew:1.0}")
+    private double assigneeSkew;
+
+    @Value("${datagen.status-skew:0.8}")
+    private double statusSkew;
+
+    @Value("${datagen.label-skew:1.2}")
+    private double labelSkew;
+
+    @Value("${datagen.batch-size:10000}")
+    private int batchSize;
+
+    @Value("${datagen.exit:false}")
+    private boolean exit;
+
+    public SyntheticDataGenerator(
+            JdbcTemplate jdbcTemplate,
+            DatabaseUtils databaseUtils,
+            DataInitializer dataInitializer,
+            TaskIdSequenceInitializer taskIdSequenceInitializer,
+            TaskStatsService taskStatsService,
+            TaskTitleIndex taskTitleIndex,
+            ConfigurableApplicationContext applicationContext
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseUtils = databaseUtils;
+        this.dataInitializer = dataInitializer;
+        this.taskIdSequenceInitializer = taskIdSequenceInitializer;
+        this.taskStatsService = taskStatsService;
+        this.taskTitleIndex = taskTitleIndex;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // the defaults first, whatever order the runners are called in
+        dataInitializer.run(args);
+
+        var generated = jdbcTemplate.queryForObject("select count(*) from users where email like ?", Long.class,
+                "%" + EMAIL_DOMAIN);
+        if (generated != null && generated > 0) {
+            log.warn("Synthetic dataset already present, generation skipped");
+        } else {
+            generate();
+        }
+
+        if (exit) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    public void generate() {
+        var start = System.nanoTime();
+        var random = new Random(seed);
+        var now = Timestamp.valueOf(BASE_TIME);
+
+        var passwordDigest = jdbcTemplate.queryForObject("select password_digest from users where email = ?",
+                String.class, DataInitializer.DEFAULT_USER_EMAIL);
+        var firstNames = words(random, 200);
+        var lastNames = words(random, 500);
+        load("users", List.of("first_name", "last_name", "email", "password_digest", "created_at", "updated_at",
+                "version"), users, i -> new Object[] {
+                    capitalize(firstNames.get(random.nextInt(firstNames.size()))),
+                    capitalize(lastNames.get(random.nextInt(lastNames.size()))),
+                    "user" + i + EMAIL_DOMAIN, passwordDigest, now, now, 0
+                });
+
+        load("task_statuses", List.of("name", "slug", "created_at", "version"), taskStatuses,
+                i -> new Object[] {"Generated " + i, "generated_" + i, now, 0});
+
+        load("labels", List.of("name", "created_at", "version"), labels,
+                i -> new Object[] {"label-" + i, now, 0});
+
+        var userIds = ids("select id from users order by id");
+        var statusIds = ids("select id from task_statuses order by id");
+        var labelIds = ids("select id from labels order by id");
+        var firstTaskId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 1 from tasks", Long.class);
+
+        // one stream per table, so changing the label settings leaves the tasks as they were
+        var taskRandom = new Random(seed + 1);
+        var vocabulary = words(taskRandom, VOCABULARY_SIZE);
+        var assignees = new Zipf(userIds.length, assigneeSkew);
+        var statuses = new Zipf(statusIds.length, statusSkew);
+        var secondsPerTask = 365L * 24 * 3600 / Math.max(1, tasks);
+        taskTitleIndex.invalidate();
+        // description is left empty: it is a large object column, which COPY does not fill
+        load("tasks", List.of("id", "index", "name", "task_status_id", "assignee_id", "created_at", "updated_at",
+                "version"), tasks, i -> {
+                    var createdAt = Timestamp.valueOf(BASE_TIME.plusSeconds(i * secondsPerTask));
+                    var title = vocabulary.get(taskRandom.nextInt(VOCABULARY_SIZE)) + " "
+                            + vocabulary.get(taskRandom.nextInt(VOCABULARY_SIZE));
+                    var assigneeId = taskRandom.nextDouble() < unassignedRatio
+                            ? null
+                            : userIds[assignees.next(taskRandom)];
+                    return new Object[] {
+                        firstTaskId + i, (long) i, title, statusIds[statuses.next(taskRandom)], assigneeId,
+                        createdAt, createdAt, 0
+                    };
+                });
+
+        var labelRandom = new Random(seed + 2);
+        var labelZipf = new Zipf(labelIds.length, labelSkew);
+        var perTask = Math.min(maxLabelsPerTask, labelIds.length);
+        load("task_label", List.of("task_id", "label_id"), new TaskLabelRows(firstTaskId, perTask, labelRandom,
+                labelZipf, labelIds));
+
+        taskIdSequenceInitializer.alignWithExistingIds();
+        taskStatsService.repair();
+        // the title index is rebuilt on ApplicationReadyEvent, after the runners; until then titleCont uses LIKE
+
+        log.info("Synthetic dataset generated in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void load(String table, List<String> columns, int count, IntFunction<Object[]> row) {
+        load(table, columns, new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return row.apply(next++);
+            }
+        });
+    }
+
+    private void load(String table, List<String> columns, Iterator<Object[]> rows) {
+        var start = System.nanoTime();
+        var postgres = databaseUtils.isPostgres();
+        var insert = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+        var copy = "copy " + table + " (" + String.join(", ", columns) + ") from stdin with (format csv)";
+
+        long count = 0;
+        var batch = new ArrayList<Object[]>(batchSize);
+        while (rows.hasNext()) {
+            batch.add(rows.next());
+            if (batch.size() == batchSize || !rows.hasNext()) {
+                if (postgres) {
+                    copy(copy, batch);
+                } else {
+                    jdbcTemplate.batchUpdate(insert, batch);
+                }
+                count += batch.size();
+                batch.clear();
+            }
+        }
+
+        var millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Generated {} rows in {}: {} ms, {} rows/s", count, table, millis, count * 1000 / millis);
+    }
+
+    private void copy(String sql, List<Object[]> rows) {
+        var csv = new StringBuilder();
+        for (var row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                appendCsv(csv, row[i]);
+            }
+            csv.append('\n');
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+            } catch (java.io.IOException e) {
+                throw new IllegalStateException("COPY failed: " + sql, e);
+            }
+        });
+    }
+
+    // null is an unquoted empty field, strings are always quoted
+    private static void appendCsv(StringBuilder csv, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String string) {
+            csv.append('"').append(string.replace("\"", "\"\"")).append('"');
+        } else {
+            csv.append(value);
+        }
+    }
+
+    private long[] ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static List<String> words(Random random, int count) {
+        var words = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            var word = new StringBuilder();
+            var length = 4 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    // Indexes 0..n-1 with P(k) proportional to 1 / (k + 1)^exponent, an exponent of 0 is uniform
+    private static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            if (n == 0) {
+                throw new IllegalStateException("Nothing to choose from");
+            }
+            cumulative = new double[n];
+            var sum = 0.0;
+            for (int k = 0; k < n; k++) {
+                sum += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            var index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+
+    // 0..perTask distinct labels for every generated task, in task order
+    private final class TaskLabelRows implements Iterator<Object[]> {
+
+        private final long firstTaskId;
+        private final int perTask;
+        private final Random random;
+        private final Zipf zipf;
+        private final long[] labelIds;
+
+        private final int[] chosen;
+        private int task;
+        private int remaining;
+        private int position;
+
+        TaskLabelRows(long firstTaskId, int perTask, Random random, Zipf zipf, long[] labelIds) {
+            this.firstTaskId = firstTaskId;
+            this.perTask = perTask;
+            this.random = random;
+            this.zipf = zipf;
+            this.labelIds = labelIds;
+            this.chosen = new int[perTask];
+            this.task = -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (position == remaining && task < tasks - 1) {
+                task++;
+                remaining = choose();
+                position = 0;
+            }
+            return position < remaining;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return new Object[] {firstTaskId + task, labelIds[chosen[position++]]};
+        }
+
+        private int choose() {
+            var count = random.nextInt(perTask + 1);
+            var size = 0;
+            // popular labels collide often, a bounded number of draws keeps skewed sets from looping
+            for (int attempt = 0; size < count && attempt < count * 4; attempt++) {
+                var label = zipf.next(random);
+                var duplicate = false;
+                for (int i = 0; i < size; i++) {
+                    duplicate |= chosen[i] == label;
+                }
+                if (!duplicate) {
+                    chosen[size++] = label;
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Task ids used to come from an identity column. On a database that already has tasks the new
+// tasks_seq starts at 1, so move it past the existing ids before Hibernate allocates from it.
+// Runs once all singletons (the schema included) are created, before the web server accepts requests.
+@Slf4j
+@Component
+public class TaskIdSequenceInitializer implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskIdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignWithExistingIds();
+    }
+
+    public void alignWithExistingIds() {
+        var maxId = jdbcTemplate.queryForObject("select max(id) from tasks", Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        // pooled optimizer hands out (value - allocation size, value], so the value must exceed maxId + size
+        var next = jdbcTemplate.queryForObject("select nextval('" + Task.ID_SEQUENCE + "')", Long.class);
+        if (next != null && next > maxId + Task.ID_ALLOCATION_SIZE) {
+            return;
+        }
+
+        var restart = maxId + Task.ID_ALLOCATION_SIZE + 1;
+        jdbcTemplate.execute("alter sequence " + Task.ID_SEQUENCE + " restart with " + restart);
+        log.info("Sequence {} restarted with {}", Task.ID_SEQUENCE, restart);
+    }
+}
@@ -0,0 +1,32 @@
+package hexlet.code.component;
+
+import hexlet.code.service.TaskStatsService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Fills task_stats on first start and periodically repairs counters that drifted, e.g. after tasks
+// were changed with plain SQL. Regular writes keep the counters exact on their own.
+@Component
+public class TaskStatsRepairJob {
+
+    private final TaskStatsService taskStatsService;
+
+    public TaskStatsRepairJob(TaskStatsService taskStatsService) {
+        this.taskStatsService = taskStatsService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        taskStatsService.repair();
+    }
+
+    @Scheduled(
+            initialDelayString = "${tasks.stats.repair-interval:PT1H}",
+            fixedDelayString = "${tasks.stats.repair-interval:PT1H}"
+    )
+    public void repair() {
+        taskStatsService.repair();
+    }
+}
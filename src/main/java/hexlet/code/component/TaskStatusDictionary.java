@@ -0,0 +1,229 @@
+package hexlet.code.component;
+
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repositories.TaskStatusRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Slug <-> id map of all task statuses. Loaded at startup and dropped on every write: by TaskStatusService
+// and by Hibernate events for entities saved elsewhere. Statuses written with plain SQL are picked up by
+// reloading on a lookup miss, at most once per miss-reload-interval: within it, or while another thread
+// is reloading, a miss means "not found", so clients sending unknown slugs can't turn every lookup into
+// a query.
+@Component
+public class TaskStatusDictionary implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private final TaskStatusRepository taskStatusRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final AtomicLong version = new AtomicLong();
+
+    // not synchronized: the reload queries the database, which would pin a virtual thread to its carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    @Value("${tasks.status-dictionary.miss-reload-interval:PT5S}")
+    private Duration missReloadInterval;
+
+    public TaskStatusDictionary(TaskStatusRepository taskStatusRepository, EntityManagerFactory entityManagerFactory) {
+        this.taskStatusRepository = taskStatusRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadLock.lock();
+        try {
+            loadSnapshot();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Changes whenever the dictionary is invalidated, usable as part of a cache key.
+    public long getVersion() {
+        return version.get();
+    }
+
+    public Optional<Long> findId(String slug) {
+        if (slug == null) {
+            return Optional.empty();
+        }
+        var current = getSnapshot();
+        var id = current.idsBySlug().get(slug);
+        if (id == null) {
+            id = reloadOnMiss(current).idsBySlug().get(slug);
+        }
+        return Optional.ofNullable(id);
+    }
+
+    // Ids of the statuses whose slug equals one of the given slugs ignoring case, like lower(slug) in (...).
+    public List<Long> findIdsIgnoreCase(Collection<String> slugs) {
+        var current = getSnapshot();
+        var keys = slugs.stream()
+                .map(slug -> slug.toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+        if (!keys.stream().allMatch(current.idsByLowerSlug()::containsKey)) {
+            current = reloadOnMiss(current);
+        }
+
+        var ids = new ArrayList<Long>();
+        for (var key : keys) {
+            ids.addAll(current.idsByLowerSlug().getOrDefault(key, List.of()));
+        }
+        return ids;
+    }
+
+    public String findSlug(Long id) {
+        if (id == null) {
+            return null;
+        }
+        var current = getSnapshot();
+        var slug = current.slugsById().get(id);
+        return slug != null ? slug : reloadOnMiss(current).slugsById().get(id);
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+
+        // a reader may reload the old state before the writing transaction commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                    snapshot = null;
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof TaskStatus) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof TaskStatus) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof TaskStatus) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private Snapshot getSnapshot() {
+        var current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    private Snapshot reloadOnMiss(Snapshot current) {
+        if (System.nanoTime() - current.loadedAt() < missReloadInterval.toNanos() || !reloadLock.tryLock()) {
+            return current;
+        }
+        try {
+            var latest = snapshot;
+            // reloaded by another thread since the caller took its snapshot
+            if (latest != null && latest != current) {
+                return latest;
+            }
+            return loadSnapshot();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot reload() {
+        reloadLock.lock();
+        try {
+            // threads queued behind the first one reuse what it loaded
+            var current = snapshot;
+            return current != null ? current : loadSnapshot();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // called with reloadLock held
+    private Snapshot loadSnapshot() {
+        var loadedVersion = version.get();
+        var loadedAt = System.nanoTime();
+        var idsBySlug = new HashMap<String, Long>();
+        var idsByLowerSlug = new HashMap<String, List<Long>>();
+        var slugsById = new HashMap<Long, String>();
+        for (TaskStatus taskStatus : taskStatusRepository.findAll()) {
+            idsBySlug.put(taskStatus.getSlug(), taskStatus.getId());
+            idsByLowerSlug.computeIfAbsent(taskStatus.getSlug().toLowerCase(Locale.ROOT), key -> new ArrayList<>())
+                    .add(taskStatus.getId());
+            slugsById.put(taskStatus.getId(), taskStatus.getSlug());
+        }
+
+        var loaded = new Snapshot(Map.copyOf(idsBySlug), Map.copyOf(idsByLowerSlug), Map.copyOf(slugsById),
+                loadedAt);
+        if (version.get() == loadedVersion) {
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    private record Snapshot(
+            Map<String, Long> idsBySlug,
+            Map<String, List<Long>> idsByLowerSlug,
+            Map<Long, String> slugsById,
+            long loadedAt
+    ) {
+    }
+}
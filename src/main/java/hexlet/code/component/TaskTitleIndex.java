@@ -0,0 +1,303 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Task;
+import hexlet.code.util.DatabaseUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-process trigram index over lower(tasks.name), used for titleCont searches when the database
+// has no trigram index of its own (H2). Postgres is served by pg_trgm, see TrigramIndexInitializer.
+//
+// The index only has to return a superset of the matching ids: the query still applies the LIKE
+// predicate to the candidates, so stale entries left by renamed or deleted tasks are harmless.
+// Missing entries are not. The index is fed by Hibernate insert/update events, code writing task names
+// through JDBC or native SQL calls invalidate(): searches fall back to LIKE until the next rebuild().
+//
+// Events are handled at flush, so the writing transaction finds its own tasks, and again after commit:
+// a rebuild scans into a fresh map while buffering the post-commit events, tasks committed after the
+// scan started reach the new map through that buffer before it replaces the old one.
+@Slf4j
+@Component
+public class TaskTitleIndex implements PostCommitInsertEventListener, PostCommitUpdateEventListener {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DatabaseUtils databaseUtils;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Map<String, PostingList> postings = new ConcurrentHashMap<>();
+
+    // events read-lock it to add to the current map, a rebuild write-locks it to replay and swap
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    // events seen while a rebuild is scanning, null otherwise
+    private volatile Queue<Entry> pending;
+
+    private volatile boolean enabled;
+    private volatile boolean ready;
+
+    @Value("${tasks.search.max-candidates:1000}")
+    private int maxCandidates;
+
+    public TaskTitleIndex(
+            EntityManagerFactory entityManagerFactory,
+            DatabaseUtils databaseUtils,
+            DataSource dataSource
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.databaseUtils = databaseUtils;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        enabled = !databaseUtils.isPostgres();
+        if (!enabled) {
+            return;
+        }
+
+        var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    // Searches fall back to LIKE until the next rebuild
+    public void invalidate() {
+        generation.incrementAndGet();
+        ready = false;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            var startGeneration = generation.get();
+            var start = System.nanoTime();
+            var fresh = new ConcurrentHashMap<String, PostingList>();
+            var count = new long[1];
+
+            pending = new ConcurrentLinkedQueue<>();
+            jdbcTemplate.query("select id, name from tasks order by id", rs -> {
+                add(fresh, rs.getLong(1), rs.getString(2));
+                count[0]++;
+            });
+
+            swapLock.writeLock().lock();
+            try {
+                for (var entry : pending) {
+                    add(fresh, entry.id(), entry.name());
+                }
+                postings = fresh;
+                pending = null;
+                // an invalidate() during the scan may stand for rows the scan did not see
+                ready = generation.get() == startGeneration;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            log.info("Task title index built: {} tasks, {} grams in {} ms",
+                    count[0], fresh.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Ids of tasks whose title may contain the given substring. Empty when the index can't answer
+    // (disabled, not built yet, substring shorter than a gram, LIKE wildcards, a gram it has never seen)
+    // or when there are too many candidates for an IN list to beat a scan; callers fall back to the
+    // plain LIKE predicate then.
+    public Optional<List<Long>> findCandidates(String title) {
+        if (!enabled || !ready || title.length() < GRAM_LENGTH || hasWildcards(title)) {
+            return Optional.empty();
+        }
+
+        var current = postings;
+        var lists = new ArrayList<Snapshot>();
+        for (var gram : grams(title)) {
+            var postingList = current.get(gram);
+            if (postingList == null) {
+                return Optional.empty();
+            }
+            lists.add(postingList.snapshot());
+        }
+        lists.sort(Comparator.comparingInt(Snapshot::size));
+
+        var candidates = new ArrayList<Long>();
+        var smallest = lists.get(0);
+        for (int i = 0; i < smallest.size(); i++) {
+            var id = smallest.ids()[i];
+            if (containsInAll(lists, id)) {
+                if (candidates.size() == maxCandidates) {
+                    return Optional.empty();
+                }
+                candidates.add(id);
+            }
+        }
+
+        return Optional.of(candidates);
+    }
+
+    // called at flush and once more after commit
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Task task) {
+            indexed(task.getId(), task.getName());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Task task) {
+            indexed(task.getId(), task.getName());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void indexed(long id, String name) {
+        swapLock.readLock().lock();
+        try {
+            add(postings, id, name);
+            var buffer = pending;
+            if (buffer != null) {
+                buffer.add(new Entry(id, name));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void add(Map<String, PostingList> target, long id, String name) {
+        if (name == null) {
+            return;
+        }
+        for (var gram : grams(name)) {
+            target.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        var lower = value.toLowerCase(Locale.ROOT);
+        var grams = new LinkedHashSet<String>();
+        for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            grams.add(lower.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static boolean hasWildcards(String title) {
+        return title.indexOf('%') >= 0 || title.indexOf('_') >= 0 || title.indexOf('\\') >= 0;
+    }
+
+    private static boolean containsInAll(List<Snapshot> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            var list = lists.get(i);
+            if (Arrays.binarySearch(list.ids(), 0, list.size(), id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Snapshot(long[] ids, int size) {
+    }
+
+    private record Entry(long id, String name) {
+    }
+
+    // Append-only list of task ids, sorted and deduplicated lazily on read. The first size elements
+    // of the array are never modified in place, so snapshots can be read without holding the lock.
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+        private boolean sorted = true;
+
+        synchronized void add(long id) {
+            if (size > 0) {
+                var last = ids[size - 1];
+                if (last == id) {
+                    return;
+                }
+                if (last > id) {
+                    sorted = false;
+                }
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized Snapshot snapshot() {
+            if (!sorted) {
+                var copy = Arrays.copyOf(ids, ids.length);
+                Arrays.sort(copy, 0, size);
+                var unique = 0;
+                for (int i = 0; i < size; i++) {
+                    if (unique == 0 || copy[unique - 1] != copy[i]) {
+                        copy[unique++] = copy[i];
+                    }
+                }
+                ids = copy;
+                size = unique;
+                sorted = true;
+            }
+            return new Snapshot(ids, size);
+        }
+    }
+}
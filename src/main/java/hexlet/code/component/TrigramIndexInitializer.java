@@ -0,0 +1,40 @@
+package hexlet.code.component;
+
+import hexlet.code.util.DatabaseUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Creates the pg_trgm GIN index that serves lower(name) like '%...%' title searches on Postgres.
+// JPA @Index cannot express an expression index with an operator class, so it is maintained here.
+@Slf4j
+@Component
+public class TrigramIndexInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseUtils databaseUtils;
+
+    public TrigramIndexInitializer(JdbcTemplate jdbcTemplate, DatabaseUtils databaseUtils) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseUtils = databaseUtils;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!databaseUtils.isPostgres()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute(
+                    "CREATE INDEX IF NOT EXISTS idx_tasks_name_trgm ON tasks USING gin (lower(name) gin_trgm_ops)"
+            );
+        } catch (DataAccessException e) {
+            log.warn("Unable to create trigram index for task titles, title search will scan tasks", e);
+        }
+    }
+}
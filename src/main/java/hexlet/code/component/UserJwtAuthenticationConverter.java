@@ -0,0 +1,39 @@
+package hexlet.code.component;
+
+import hexlet.code.util.AuthenticatedUser;
+import hexlet.code.util.JWTUtils;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Authenticates a request from the token claims alone, no user is loaded from the database
+@Component
+public class UserJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final AccessTokenDenylist accessTokenDenylist;
+
+    public UserJwtAuthenticationConverter(AccessTokenDenylist accessTokenDenylist) {
+        this.accessTokenDenylist = accessTokenDenylist;
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        Number version = jwt.getClaim(JWTUtils.TOKEN_VERSION_CLAIM);
+        Number userId = jwt.getClaim(JWTUtils.USER_ID_CLAIM);
+        if (version == null || version.longValue() != JWTUtils.TOKEN_VERSION
+                || userId == null || jwt.getSubject() == null) {
+            throw new InvalidBearerTokenException("Unsupported token version " + version);
+        }
+        if (accessTokenDenylist.isRevoked(jwt, userId.longValue())) {
+            throw new InvalidBearerTokenException("Token has been revoked");
+        }
+
+        var principal = new AuthenticatedUser(userId.longValue(), jwt.getSubject());
+        return UsernamePasswordAuthenticationToken.authenticated(principal, jwt, List.of());
+    }
+}
@@ -0,0 +1,72 @@
+package hexlet.code.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.RSAKey;
+import hexlet.code.component.RsaKeyProperties;
+import hexlet.code.util.CachingJwtDecoder;
+import hexlet.code.util.JwtKeyRing;
+import hexlet.code.util.KeyRingJwtDecoder;
+import hexlet.code.util.KeyRingJwtEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+
+import java.time.Duration;
+
+@Configuration
+public class JwtConfig {
+
+    @Value("${security.jwt.algorithm:RS256}")
+    private JwtKeyRing.Algorithm algorithm;
+
+    @Value("${security.jwt.cache.maximum-size:10000}")
+    private long jwtCacheSize;
+
+    @Value("${security.jwt.access-token-ttl:PT1H}")
+    private Duration accessTokenTtl;
+
+    // The configured RSA key keeps RS256 tokens valid across restarts, other algorithms start with a generated key
+    @Bean
+    JwtKeyRing jwtKeyRing(RsaKeyProperties rsaKeys) throws JOSEException {
+        var initialKey = algorithm == JwtKeyRing.Algorithm.RS256
+                ? new RSAKey.Builder(rsaKeys.getPublicKey())
+                        .privateKey(rsaKeys.getPrivateKey())
+                        .algorithm(JWSAlgorithm.RS256)
+                        .keyIDFromThumbprint()
+                        .build()
+                : algorithm.generateKey();
+        // a token signed just before a rotation is accepted until exp plus the decoder's clock skew
+        return new JwtKeyRing(algorithm, initialKey, accessTokenTtl.plus(KeyRingJwtDecoder.CLOCK_SKEW));
+    }
+
+    @Bean
+    JwtEncoder jwtEncoder(JwtKeyRing jwtKeyRing) {
+        return new KeyRingJwtEncoder(jwtKeyRing);
+    }
+
+    // security.jwt.verify times the signature checks, i.e. the cache misses
+    @Bean
+    CachingJwtDecoder jwtDecoder(JwtKeyRing jwtKeyRing, MeterRegistry registry) {
+        var decoder = new KeyRingJwtDecoder(jwtKeyRing);
+        var verifyTimer = Timer.builder("security.jwt.verify")
+                .publishPercentileHistogram()
+                .register(registry);
+        var cachingDecoder = new CachingJwtDecoder(token -> verifyTimer.record(() -> decoder.decode(token)),
+                jwtCacheSize);
+
+        FunctionCounter.builder("security.jwt.cache.requests", cachingDecoder, d -> d.getStats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.cache.requests", cachingDecoder, d -> d.getStats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("security.jwt.cache.size", cachingDecoder, CachingJwtDecoder::getSize).register(registry);
+        return cachingDecoder;
+    }
+}
@@ -0,0 +1,79 @@
+package hexlet.code.config;
+
+import hexlet.code.util.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// Actuator endpoints get their own chain ahead of the API one: health is public, everything else
+// (the Prometheus scrape) takes HTTP Basic credentials of a dedicated account, never user JWTs.
+// Without management.scrape.password the endpoints stay closed.
+@Configuration
+public class ManagementSecurityConfig {
+
+    private static final String SCRAPE_ROLE = "METRICS";
+
+    @Value("${management.scrape.username:prometheus}")
+    private String scrapeUsername;
+
+    @Value("${management.scrape.password:}")
+    private String scrapePassword;
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http) throws Exception {
+        var provider = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(User.withUsername(scrapeUsername)
+                .password(HashUtils.sha256Hex(scrapePassword))
+                .roles(SCRAPE_ROLE)
+                .build()));
+        provider.setPasswordEncoder(new ScrapePasswordEncoder());
+
+        return http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll();
+                    if (scrapePassword.isEmpty()) {
+                        auth.anyRequest().denyAll();
+                    } else {
+                        auth.anyRequest().hasRole(SCRAPE_ROLE);
+                    }
+                })
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(new ProviderManager(provider))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
+
+    // A scrape every few seconds should not cost a bcrypt round: the secret is compared as a SHA-256
+    // digest in constant time
+    private static final class ScrapePasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return HashUtils.sha256Hex(rawPassword.toString());
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return MessageDigest.isEqual(encode(rawPassword).getBytes(StandardCharsets.US_ASCII),
+                    encodedPassword.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package hexlet.code.config;
+
+import hexlet.code.util.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+import java.util.Map;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT = "bcrypt";
+
+    @Value("${security.password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${security.password-hashing.queue-capacity:16}")
+    private int queueCapacity;
+
+    // Hashes are stored as {id}hash. Digests written before the prefix was introduced are plain bcrypt,
+    // they still match and are rewritten on the next login, as are bcrypt hashes of a lower strength.
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry registry) {
+        var bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        var delegating = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        var poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, registry);
+    }
+}
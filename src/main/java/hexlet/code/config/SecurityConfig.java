@@ -1,5 +1,9 @@
 package hexlet.code.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.RateLimiter;
+import hexlet.code.component.UserJwtAuthenticationConverter;
+import hexlet.code.handler.RateLimitFilter;
 import hexlet.code.service.UserService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,6 +18,7 @@ import org.springframework.security.config.annotation.web.configurers.HeadersCon
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
@@ -25,21 +30,33 @@ public class SecurityConfig {
     private final JwtDecoder jwtDecoder;
     private final PasswordEncoder passwordEncoder;
     private final UserService userService;
+    private final UserJwtAuthenticationConverter userJwtAuthenticationConverter;
 
-    public SecurityConfig(JwtDecoder jwtDecoder, PasswordEncoder passwordEncoder, UserService userService) {
+    public SecurityConfig(
+            JwtDecoder jwtDecoder,
+            PasswordEncoder passwordEncoder,
+            UserService userService,
+            UserJwtAuthenticationConverter userJwtAuthenticationConverter
+    ) {
         this.jwtDecoder = jwtDecoder;
         this.passwordEncoder = passwordEncoder;
         this.userService = userService;
+        this.userJwtAuthenticationConverter = userJwtAuthenticationConverter;
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, HandlerMappingIntrospector introspector)
-            throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            HandlerMappingIntrospector introspector,
+            RateLimiter rateLimiter,
+            ObjectMapper objectMapper
+    ) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/", "/assets/**", "/index.html").permitAll()
-                        .requestMatchers("/api/login").permitAll()
+                        .requestMatchers("/api/login", "/api/token/refresh").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/openapi-docs/**").permitAll()
@@ -47,7 +64,10 @@ public class SecurityConfig {
                 )
                 .headers(header -> header.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .oauth2ResourceServer(rs -> rs.jwt(jwt -> jwt.decoder(jwtDecoder)))
+                .oauth2ResourceServer(rs -> rs.jwt(jwt -> jwt
+                        .decoder(jwtDecoder)
+                        .jwtAuthenticationConverter(userJwtAuthenticationConverter)))
+                .addFilterBefore(new RateLimitFilter(rateLimiter, objectMapper), BearerTokenAuthenticationFilter.class)
                 .build();
     }
 
@@ -57,6 +77,7 @@ public class SecurityConfig {
         var provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userService);
         provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userService);
         return new ProviderManager(provider);
     }
 }
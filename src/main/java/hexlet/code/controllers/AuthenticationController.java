@@ -1,34 +1,99 @@
 package hexlet.code.controllers;
 
 import hexlet.code.dto.login.AuthRequest;
+import hexlet.code.exception.InvalidTokenException;
+import hexlet.code.model.User;
+import hexlet.code.service.RefreshTokenService;
 import hexlet.code.util.JWTUtils;
+import hexlet.code.util.UserUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api")
 public class AuthenticationController {
 
+    public static final String REFRESH_TOKEN_COOKIE = "refresh_token";
+
     private final JWTUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final UserUtils userUtils;
+
+    @Value("${security.refresh-token.secure-cookie:true}")
+    private boolean secureCookie;
 
-    public AuthenticationController(JWTUtils jwtUtils, AuthenticationManager authenticationManager) {
+    public AuthenticationController(
+            JWTUtils jwtUtils,
+            AuthenticationManager authenticationManager,
+            RefreshTokenService refreshTokenService,
+            UserUtils userUtils
+    ) {
         this.jwtUtils = jwtUtils;
         this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+        this.userUtils = userUtils;
     }
 
     @PostMapping("/login")
-    public String create(@RequestBody AuthRequest authRequest) {
+    public ResponseEntity<String> create(@RequestBody AuthRequest authRequest) {
         var authentication = new UsernamePasswordAuthenticationToken(
                 authRequest.getUsername(), authRequest.getPassword()
         );
 
-        authenticationManager.authenticate(authentication);
+        // the principal is the user loaded while checking the password
+        var user = (User) authenticationManager.authenticate(authentication).getPrincipal();
+
+        return tokenResponse(user, refreshTokenService.issue(user));
+    }
+
+    // Renews the access token without checking the password again, the refresh token is replaced on every use
+    @PostMapping("/token/refresh")
+    public ResponseEntity<String> refresh(
+            @CookieValue(name = REFRESH_TOKEN_COOKIE, required = false) String refreshToken
+    ) {
+        if (refreshToken == null) {
+            throw new InvalidTokenException("Refresh token is missing");
+        }
+        var rotation = refreshTokenService.rotate(refreshToken);
+        return tokenResponse(rotation.user(), rotation.refreshToken());
+    }
+
+    // Signs the current user out on every device, the access token of this request included
+    @PostMapping("/token/revoke")
+    public ResponseEntity<Void> revoke() {
+        refreshTokenService.revokeAll(userUtils.getCurrentUserId());
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, refreshTokenCookie("", Duration.ZERO).toString())
+                .build();
+    }
+
+    // The access token stays the response body; the refresh token is kept out of reach of scripts
+    private ResponseEntity<String> tokenResponse(User user, String refreshToken) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE,
+                        refreshTokenCookie(refreshToken, refreshTokenService.getTtl()).toString())
+                .body(jwtUtils.generateToken(user));
+    }
 
-        return jwtUtils.generateToken(authRequest.getUsername());
+    private ResponseCookie refreshTokenCookie(String value, Duration maxAge) {
+        return ResponseCookie.from(REFRESH_TOKEN_COOKIE, value)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Strict")
+                .path("/api/token")
+                .maxAge(maxAge)
+                .build();
     }
 }
@@ -1,40 +1,131 @@
 package hexlet.code.controllers;
 
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hexlet.code.component.JsonWriters;
+import hexlet.code.component.TaskStatusDictionary;
+import hexlet.code.dto.task.TaskBatchResultDTO;
+import hexlet.code.dto.task.TaskBulkDeleteDTO;
+import hexlet.code.dto.task.TaskBulkResultDTO;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskListDigest;
 import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.dto.task.TaskStatsDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.service.TaskBatchService;
+import hexlet.code.service.TaskBulkService;
 import hexlet.code.service.TaskService;
+import hexlet.code.service.TaskStatsService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.TreeMap;
+
+import static hexlet.code.util.HeaderUtils.X_NEXT_CURSOR_HEADER_NAME;
+import static hexlet.code.util.HeaderUtils.X_TOTAL_COUNT_HEADER_NAME;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskBulkService taskBulkService;
+    private final TaskStatusDictionary taskStatusDictionary;
+    private final TaskStatsService taskStatsService;
+    private final JsonWriters jsonWriters;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(
+            TaskService taskService,
+            TaskBatchService taskBatchService,
+            TaskBulkService taskBulkService,
+            TaskStatusDictionary taskStatusDictionary,
+            TaskStatsService taskStatsService,
+            JsonWriters jsonWriters
+    ) {
         this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+        this.taskBulkService = taskBulkService;
+        this.taskStatusDictionary = taskStatusDictionary;
+        this.taskStatsService = taskStatsService;
+        this.jsonWriters = jsonWriters;
     }
 
     @GetMapping(path = "")
-    public List<TaskDTO> index(TaskParamsDTO taskParamsDTO) {
-        return taskService.getAll(taskParamsDTO);
+    public ResponseEntity<List<TaskDTO>> index(
+            TaskParamsDTO taskParamsDTO,
+            @RequestParam(name = "_start", required = false) Integer start,
+            @RequestParam(name = "_end", required = false) Integer end,
+            WebRequest request
+    ) {
+        taskParamsDTO.setStart(start);
+        taskParamsDTO.setEnd(end);
+        var digest = taskService.getListDigest(taskParamsDTO);
+        if (request.checkNotModified(listETag(digest, request))) {
+            return null;
+        }
+
+        var page = taskService.getAll(taskParamsDTO, digest.count());
+
+        var response = ResponseEntity.ok()
+                .header(X_TOTAL_COUNT_HEADER_NAME, String.valueOf(page.getTotalCount()));
+        if (page.getNextCursor() != null) {
+            response.header(X_NEXT_CURSOR_HEADER_NAME, page.getNextCursor());
+        }
+
+        return response.body(page.getData());
+    }
+
+    @GetMapping(path = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> indexStream(TaskParamsDTO taskParamsDTO) {
+        return stream(taskParamsDTO, true, null);
+    }
+
+    @GetMapping(path = "/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            TaskParamsDTO taskParamsDTO,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        var ndjson = isNdjson(accept);
+        return stream(taskParamsDTO, ndjson, ndjson ? "tasks.ndjson" : "tasks.json");
+    }
+
+    @GetMapping(path = "/stats")
+    public TaskStatsDTO stats() {
+        return taskStatsService.getStats();
     }
 
     @GetMapping(path = "/{id}")
-    public TaskDTO show(@PathVariable long id) {
+    public TaskDTO show(@PathVariable long id, WebRequest request) {
+        if (request.checkNotModified(taskETag(id, taskService.getVersion(id)))) {
+            return null;
+        }
+
         return taskService.getById(id);
     }
 
@@ -44,9 +135,31 @@ public class TaskController {
         return taskService.create(taskCreateDTO);
     }
 
+    @PostMapping(path = "/batch")
+    public List<TaskBatchResultDTO> createBatch(@RequestBody List<TaskCreateDTO> taskCreateDTOs) {
+        return taskBatchService.create(taskCreateDTOs);
+    }
+
+    @PatchMapping(path = "/bulk")
+    public TaskBulkResultDTO bulkUpdate(@RequestBody TaskBulkUpdateDTO taskBulkUpdateDTO) {
+        return taskBulkService.update(taskBulkUpdateDTO);
+    }
+
+    @DeleteMapping(path = "/bulk")
+    public TaskBulkResultDTO bulkDelete(@RequestBody TaskBulkDeleteDTO taskBulkDeleteDTO) {
+        return taskBulkService.delete(taskBulkDeleteDTO);
+    }
+
     @PutMapping(path = "/{id}")
-    public TaskDTO update(@PathVariable long id, @RequestBody TaskUpdateDTO taskUpdateDTO) {
-        return taskService.update(id, taskUpdateDTO);
+    public ResponseEntity<TaskDTO> update(
+            @PathVariable long id,
+            @RequestBody TaskUpdateDTO taskUpdateDTO,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        var task = taskService.update(id, taskUpdateDTO, getExpectedVersions(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(taskETag(id, task.getVersion()))
+                .body(task);
     }
 
     @DeleteMapping(path = "/{id}")
@@ -54,4 +167,79 @@ public class TaskController {
     public void delete(@PathVariable long id) {
         taskService.delete(id);
     }
+
+    // Status slugs come from the dictionary, so its version is part of both ETags. The task tag is strong,
+    // it is what If-Match is checked against; a single task rarely reaches the compression threshold.
+    private String taskETag(long id, long version) {
+        return "\"" + id + "-" + version + "-" + taskStatusDictionary.getVersion() + "\"";
+    }
+
+    // Versions named by the If-Match tags of this task, null when any version is acceptable. The dictionary
+    // part of the tag only affects the rendered slugs, so it is not compared. If-Match uses strong comparison,
+    // so weak tags never match.
+    private List<Long> getExpectedVersions(long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        var versions = new ArrayList<Long>();
+        for (var tag : ifMatch.split(",")) {
+            if (tag.trim().startsWith("W/")) {
+                continue;
+            }
+            var parts = tag.trim().replace("\"", "").split("-");
+            if (parts.length == 3 && parts[0].equals(String.valueOf(id)) && parts[1].matches("\\d{1,18}")) {
+                versions.add(Long.valueOf(parts[1]));
+            }
+        }
+        return versions;
+    }
+
+    // Weak: the list is compressed, and If-None-Match compares weakly anyway
+    private String listETag(TaskListDigest digest, WebRequest request) {
+        var key = new StringBuilder();
+        new TreeMap<>(request.getParameterMap())
+                .forEach((name, values) -> key.append(name).append('=').append(String.join(",", values)).append('&'));
+        key.append(digest.count()).append('/')
+                .append(digest.maxUpdatedAt()).append('/')
+                .append(digest.versionSum()).append('/')
+                .append(taskStatusDictionary.getVersion());
+
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private boolean isNdjson(String accept) {
+        return accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(TaskParamsDTO params, boolean ndjson, String filename) {
+        var totalCount = taskService.count(params);
+
+        var writer = jsonWriters.getTaskWriter()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter sequence = ndjson
+                    ? writer.withRootValueSeparator("\n").writeValues(outputStream)
+                    : writer.writeValuesAsArray(outputStream)) {
+                taskService.export(params, task -> {
+                    try {
+                        sequence.write(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        var headers = new HttpHeaders();
+        headers.setContentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON);
+        headers.set(X_TOTAL_COUNT_HEADER_NAME, String.valueOf(totalCount));
+        if (filename != null) {
+            headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+        }
+
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
 }
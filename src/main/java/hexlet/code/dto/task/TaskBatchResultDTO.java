@@ -0,0 +1,20 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResultDTO {
+
+    // position of the item in the request array
+    private int index;
+
+    private int status;
+
+    private TaskDTO task;
+
+    private String error;
+}
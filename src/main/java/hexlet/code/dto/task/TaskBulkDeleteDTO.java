@@ -0,0 +1,18 @@
+package hexlet.code.dto.task;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+public class TaskBulkDeleteDTO {
+
+    // tasks matching the filter, the explicit ids, or both when both are given
+    private TaskParamsDTO filter;
+
+    private List<Long> ids;
+}
@@ -0,0 +1,29 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+public class TaskBulkUpdateDTO {
+
+    // tasks matching the filter, the explicit ids, or both when both are given
+    private TaskParamsDTO filter;
+
+    private List<Long> ids;
+
+    private JsonNullable<String> status = JsonNullable.undefined();
+
+    @JsonProperty("assignee_id")
+    private JsonNullable<Long> assigneeId = JsonNullable.undefined();
+
+    private List<Long> addLabelIds;
+
+    private List<Long> removeLabelIds;
+}
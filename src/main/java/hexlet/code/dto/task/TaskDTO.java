@@ -27,4 +27,6 @@ public class TaskDTO {
     private List<Long> taskLabelIds;
 
     private LocalDateTime createdAt;
+
+    private Long version;
 }
@@ -0,0 +1,12 @@
+package hexlet.code.dto.task;
+
+import java.time.LocalDateTime;
+
+// Aggregates over the tasks matching a list filter, changes whenever a matching task is added,
+// removed or modified
+public record TaskListDigest(
+        long count,
+        LocalDateTime maxUpdatedAt,
+        long versionSum
+) {
+}
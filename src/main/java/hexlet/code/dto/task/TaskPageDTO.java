@@ -0,0 +1,17 @@
+package hexlet.code.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class TaskPageDTO {
+
+    private List<TaskDTO> data;
+
+    private String nextCursor;
+
+    private long totalCount;
+}
@@ -3,6 +3,8 @@ package hexlet.code.dto.task;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 public class TaskParamsDTO {
@@ -14,4 +16,29 @@ public class TaskParamsDTO {
     private String status;
 
     private Long labelId;
+
+    private List<Long> labelIds;
+
+    // "any" (default) or "all" of labelIds
+    private String labelMatch;
+
+    private List<String> statuses;
+
+    private List<Long> assigneeIds;
+
+    // true - only tasks without assignee, combined with assigneeIds by OR; false - only assigned tasks
+    private Boolean unassigned;
+
+    private Integer limit;
+
+    private String after;
+
+    // offset range of the react-admin json-server client, bound from _start/_end by TaskController
+    private Integer start;
+
+    private Integer end;
+
+    private String sort;
+
+    private String order;
 }
@@ -0,0 +1,25 @@
+package hexlet.code.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskStatsDTO {
+
+    private long total;
+
+    private long unassigned;
+
+    private Map<String, Long> byStatus;
+
+    private Map<Long, Long> byAssignee;
+
+    private Map<Long, Long> byLabel;
+}
@@ -0,0 +1,16 @@
+package hexlet.code.dto.task;
+
+import java.time.LocalDateTime;
+
+public record TaskView(
+        Long id,
+        Long index,
+        String title,
+        String content,
+        Long statusId,
+        Long assigneeId,
+        Long[] taskLabelIds,
+        LocalDateTime createdAt,
+        Long version
+) {
+}
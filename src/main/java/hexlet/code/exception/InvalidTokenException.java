@@ -0,0 +1,7 @@
+package hexlet.code.exception;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,151 @@
+package hexlet.code.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Runs in the security chain before authentication: logins are limited per client IP and per username,
+// writes to the API per client IP. Rejected requests get 429 without reaching the password encoder.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/login";
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    // login bodies are a username and a password, longer ones are rejected with 413
+    private static final int MAX_LOGIN_BODY = 16 * 1024;
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        var clientIp = request.getRemoteAddr();
+
+        if ("POST".equals(request.getMethod()) && LOGIN_PATH.equals(path)) {
+            // the IP bucket is checked before the body is read, rejected clients don't get to upload it
+            if (rejected(response, rateLimiter.tryAcquire(RateLimiter.Group.LOGIN_IP, clientIp))) {
+                return;
+            }
+            var body = request.getInputStream().readNBytes(MAX_LOGIN_BODY + 1);
+            if (body.length > MAX_LOGIN_BODY) {
+                response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                response.setContentType("text/plain;charset=UTF-8");
+                response.getWriter().write("Login request body too large");
+                return;
+            }
+            var username = readUsername(body);
+            if (username != null && rejected(response,
+                    rateLimiter.tryAcquire(RateLimiter.Group.LOGIN_USERNAME, username.toLowerCase(Locale.ROOT)))) {
+                return;
+            }
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        if (WRITE_METHODS.contains(request.getMethod()) && path.startsWith("/api/")
+                && rejected(response, rateLimiter.tryAcquire(RateLimiter.Group.WRITE, clientIp))) {
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String readUsername(byte[] body) {
+        try {
+            var username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            // malformed bodies are rejected by the controller
+            return null;
+        }
+    }
+
+    private static boolean rejected(HttpServletResponse response, long waitNanos) throws IOException {
+        if (waitNanos == 0) {
+            return false;
+        }
+        var retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Too many requests, retry later");
+        return true;
+    }
+
+    // Replays the login body that was read for the username
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // the whole body is in memory, so it is available at once
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package hexlet.code.mapper;
 
+import hexlet.code.component.TaskStatusDictionary;
 import hexlet.code.exception.DependentResourceNotFoundException;
 import hexlet.code.model.TaskStatus;
-import hexlet.code.repositories.TaskStatusRepository;
+import jakarta.persistence.EntityManager;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingConstants;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +14,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 public abstract class ReferenceTaskStatusMapper {
 
     @Autowired
-    private TaskStatusRepository taskStatusRepository;
+    private TaskStatusDictionary taskStatusDictionary;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    // Resolves the slug through the dictionary, the task only needs the status id so no select is issued.
     public TaskStatus map(String statusSlug) {
-        return taskStatusRepository
-                .findBySlug(statusSlug)
+        return taskStatusDictionary
+                .findId(statusSlug)
+                .map(id -> entityManager.getReference(TaskStatus.class, id))
                 .orElseThrow(() ->
                         new DependentResourceNotFoundException(
                                 "TaskStatus with slug " + statusSlug + " not found"
@@ -1,12 +1,15 @@
 package hexlet.code.mapper;
 
+import hexlet.code.component.TaskStatusDictionary;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.dto.task.TaskView;
 import hexlet.code.exception.DependentResourceNotFoundException;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
-import hexlet.code.repositories.LabelRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
@@ -16,9 +19,12 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.ReportingPolicy;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -30,7 +36,9 @@ import java.util.stream.Collectors;
 )
 public abstract class TaskMapper {
 
-    private LabelRepository labelRepository;
+    private EntityManager entityManager;
+
+    private TaskStatusDictionary taskStatusDictionary;
 
     @Mapping(source = "title", target = "name")
     @Mapping(source = "content", target = "description")
@@ -39,13 +47,25 @@ public abstract class TaskMapper {
     @Mapping(source = "taskLabelIds", target = "labels", qualifiedByName = "mapLabelsIdsToLabels")
     public abstract Task map(TaskCreateDTO taskCreteDTO);
 
+    // References are resolved by the caller, used by batch creation
+    @Mapping(source = "title", target = "name")
+    @Mapping(source = "content", target = "description")
+    @Mapping(target = "taskStatus", ignore = true)
+    @Mapping(target = "assignee", ignore = true)
+    @Mapping(target = "labels", ignore = true)
+    public abstract Task mapWithoutReferences(TaskCreateDTO taskCreateDTO);
+
     @Mapping(source = "name", target = "title")
     @Mapping(source = "description", target = "content")
-    @Mapping(source = "taskStatus.slug", target = "status")
+    @Mapping(source = "taskStatus.id", target = "status", qualifiedByName = "mapStatusIdToSlug")
     @Mapping(source = "assignee.id", target = "assigneeId")
     @Mapping(source = "labels", target = "taskLabelIds", qualifiedByName = "mapLabelsToIds")
     public abstract TaskDTO map(Task task);
 
+    @Mapping(source = "statusId", target = "status", qualifiedByName = "mapStatusIdToSlug")
+    @Mapping(source = "taskLabelIds", target = "taskLabelIds", qualifiedByName = "mapLabelIdsArrayToList")
+    public abstract TaskDTO map(TaskView taskView);
+
     @Mapping(source = "title", target = "name")
     @Mapping(source = "content", target = "description")
     @Mapping(source = "status", target = "taskStatus")
@@ -54,8 +74,18 @@ public abstract class TaskMapper {
     public abstract void update(TaskUpdateDTO updateDTO, @MappingTarget Task model);
 
     @Autowired
-    public void setLabelRepository(LabelRepository labelRepository) {
-        this.labelRepository = labelRepository;
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Autowired
+    public void setTaskStatusDictionary(TaskStatusDictionary taskStatusDictionary) {
+        this.taskStatusDictionary = taskStatusDictionary;
+    }
+
+    @Named("mapStatusIdToSlug")
+    public String mapStatusIdToSlug(Long statusId) {
+        return taskStatusDictionary.findSlug(statusId);
     }
 
     @Named("mapLabelsToIds")
@@ -68,21 +98,30 @@ public abstract class TaskMapper {
                 .collect(Collectors.toList());
     }
 
+    @Named("mapLabelIdsArrayToList")
+    public List<Long> mapLabelIdsArrayToList(Long[] labelIds) {
+        return labelIds == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(labelIds));
+    }
+
     @Named("mapLabelsIdsToLabels")
     public List<Label> mapLabelsIdsToLabels(List<Long> labelIds) {
         if (labelIds == null) {
             return Collections.emptyList();
         }
-        List<Label> result = labelRepository.findAllById(labelIds);
+        var ids = labelIds.stream().distinct().toList();
+        // multiLoad checks the second-level cache first and only selects the labels missing there
+        List<Label> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(Label.class)
+                .multiLoad(ids);
 
-        if (labelIds.size() != result.size()) {
-            Set<Long> deleted = new HashSet<>(labelIds);
-            deleted.removeAll(result.stream().map(Label::getId).collect(Collectors.toSet()));
+        if (loaded.contains(null)) {
+            Set<Long> deleted = new HashSet<>(ids);
+            deleted.removeAll(loaded.stream().filter(Objects::nonNull).map(Label::getId).collect(Collectors.toSet()));
             throw new DependentResourceNotFoundException(
                     "Labels with ids " + deleted + " not found"
             );
         }
 
-        return result;
+        return new ArrayList<>(loaded);
     }
 }
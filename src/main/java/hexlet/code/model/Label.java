@@ -9,11 +9,15 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -22,6 +26,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "labels")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "labels")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -43,4 +48,9 @@ public class Label implements BaseEntity {
 
     @CreatedDate
     private LocalDateTime createdAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
@@ -7,35 +7,61 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+@Table(
+        name = "tasks",
+        indexes = {
+            @Index(name = "idx_tasks_index_id", columnList = "index, id"),
+            @Index(name = "idx_tasks_name_id", columnList = "name, id"),
+            @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id")
+        }
+)
+@NamedEntityGraph(
+        name = Task.WITH_LABELS_GRAPH,
+        attributeNodes = @NamedAttributeNode("labels")
+)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Task implements BaseEntity {
 
+    public static final String WITH_LABELS_GRAPH = "Task.withLabels";
+
+    public static final String ID_SEQUENCE = "tasks_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence ids instead of IDENTITY, so Hibernate can batch task inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -51,23 +77,38 @@ public class Task implements BaseEntity {
 
     @NotNull
     @JoinColumn(nullable = false)
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.RESTRICT)
     private TaskStatus taskStatus;
 
     @JoinColumn(nullable = true)
-    @ManyToOne(optional = true)
+    @ManyToOne(optional = true, fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.RESTRICT)
     private User assignee;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 500)
     @JoinTable(
             name = "task_label",
             joinColumns = @JoinColumn(name = "task_id"),
-            inverseJoinColumns = @JoinColumn(name = "label_id")
+            inverseJoinColumns = @JoinColumn(name = "label_id"),
+            indexes = {
+                @Index(name = "idx_task_label_label_id_task_id", columnList = "label_id, task_id"),
+                @Index(name = "idx_task_label_task_id_label_id", columnList = "task_id, label_id")
+            }
     )
     private List<Label> labels;
 
     @CreatedDate
     private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @ColumnDefault("current_timestamp")
+    private LocalDateTime updatedAt;
+
+    // Incremented on every change, including label changes and bulk updates, used for ETags
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
@@ -0,0 +1,33 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+// Task counters per status, assignee and label. Rows are only written by TaskStatsService,
+// with delta upserts in the transaction that changes the tasks.
+@Entity
+@Immutable
+@Table(name = "task_stats")
+@Getter
+@Setter
+public class TaskStat {
+
+    public static final long NO_KEY = 0L;
+
+    public enum Dimension {
+        STATUS,
+        ASSIGNEE,
+        LABEL
+    }
+
+    @EmbeddedId
+    private TaskStatId id;
+
+    @Column(nullable = false)
+    private long taskCount;
+}
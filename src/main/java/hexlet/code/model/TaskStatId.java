@@ -0,0 +1,30 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaskStatId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private TaskStat.Dimension dimension;
+
+    // Status, assignee or label id; 0 for unassigned tasks
+    @Column(nullable = false)
+    private Long keyId;
+}
@@ -7,11 +7,15 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -19,6 +23,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "task_statuses")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task_statuses")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -42,4 +47,9 @@ public class TaskStatus implements BaseEntity {
 
     @CreatedDate
     private LocalDateTime createdAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
@@ -7,12 +7,18 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -25,6 +31,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users_by_email")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -41,6 +49,8 @@ public class User implements BaseEntity, UserDetails {
 
     @NotNull
     @Email
+    // Resolved through the natural id cache on login, see UserUtils.findByEmail
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -54,6 +64,11 @@ public class User implements BaseEntity, UserDetails {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of();
@@ -2,11 +2,19 @@ package hexlet.code.repositories;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 @NoRepositoryBean
 public interface BaseJpaRepository<T, ID> extends JpaRepository<T, ID> {
 
+    @Query("select e.id from #{#entityName} e where e.id in :ids")
+    List<ID> findExistingIds(@Param("ids") Collection<ID> ids);
+
     default void deleteByIdOrThrow(ID id, RuntimeException exception) {
         try {
             deleteById(id);
@@ -0,0 +1,125 @@
+package hexlet.code.repositories;
+
+import hexlet.code.dto.task.TaskListDigest;
+import hexlet.code.dto.task.TaskView;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Read-only task queries selecting DTO columns straight into TaskView records,
+// label ids are aggregated by a correlated array_agg subquery, so no entities are hydrated.
+@Repository
+public class TaskReadRepository {
+
+    private final EntityManager entityManager;
+
+    public TaskReadRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<TaskView> findAll(Specification<Task> specification, int limit) {
+        return findAll(specification, 0, limit);
+    }
+
+    public List<TaskView> findAll(Specification<Task> specification, int offset, int limit) {
+        return createQuery(specification)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Rows are read through a JDBC cursor with the given fetch size, the caller must consume the stream
+    // inside a transaction and close it.
+    public Stream<TaskView> stream(Specification<Task> specification, int fetchSize) {
+        return createQuery(specification)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    public List<Long> findIds(Specification<Task> specification, int limit) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var root = query.from(Task.class);
+
+        var predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root.get("id"));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public TaskListDigest getDigest(Specification<Task> specification) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(TaskListDigest.class);
+        var root = query.from(Task.class);
+
+        var predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.construct(
+                TaskListDigest.class,
+                cb.count(root),
+                cb.greatest(root.<LocalDateTime>get("updatedAt")),
+                cb.coalesce(cb.sum(root.<Long>get("version")), 0L)
+        ));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    public Optional<TaskView> findById(long id) {
+        Specification<Task> byId = (root, query, cb) -> cb.equal(root.get("id"), id);
+        return findAll(byId, 1).stream().findFirst();
+    }
+
+    private TypedQuery<TaskView> createQuery(Specification<Task> specification) {
+        var cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(TaskView.class);
+        var root = query.from(Task.class);
+
+        var predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.construct(
+                TaskView.class,
+                root.get("id"),
+                root.get("index"),
+                root.get("name"),
+                root.get("description"),
+                root.get("taskStatus").get("id"),
+                root.get("assignee").get("id"),
+                labelIds(query, root, cb),
+                root.get("createdAt"),
+                root.get("version")
+        ));
+
+        return entityManager.createQuery(query);
+    }
+
+    private Expression<Long[]> labelIds(CriteriaQuery<?> query, Root<Task> root, HibernateCriteriaBuilder cb) {
+        var subquery = query.subquery(Long[].class);
+        Join<Task, Label> labels = subquery.correlate(root).join("labels");
+        Expression<Long> labelId = labels.get("id");
+        return subquery.select(cb.arrayAgg(cb.asc(labelId), labelId));
+    }
+}
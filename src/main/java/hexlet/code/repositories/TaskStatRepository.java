@@ -0,0 +1,10 @@
+package hexlet.code.repositories;
+
+import hexlet.code.model.TaskStat;
+import hexlet.code.model.TaskStatId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskStatRepository extends JpaRepository<TaskStat, TaskStatId> {
+}
@@ -8,11 +8,13 @@ import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.exception.UnableDeleteException;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.repositories.LabelRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class LabelsService {
 
     private final LabelRepository labelRepository;
@@ -0,0 +1,107 @@
+package hexlet.code.service;
+
+import hexlet.code.component.AccessTokenDenylist;
+import hexlet.code.exception.InvalidTokenException;
+import hexlet.code.model.RefreshToken;
+import hexlet.code.model.User;
+import hexlet.code.repositories.RefreshTokenRepository;
+import hexlet.code.util.HashUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+// Opaque single-use refresh tokens. Each refresh marks the token used and issues a new one; presenting a used
+// token again means it leaked, so every token of the user is revoked. Revoking also ends the access tokens
+// already issued, see AccessTokenDenylist.
+@Slf4j
+@Service
+@Timed(value = "app.service", histogram = true)
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final EntityManager entityManager;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${security.refresh-token.ttl:P14D}")
+    private Duration ttl;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            AccessTokenDenylist accessTokenDenylist,
+            EntityManager entityManager
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.entityManager = entityManager;
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    @Transactional
+    public String issue(User user) {
+        var bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        var now = Instant.now();
+        var refreshToken = new RefreshToken();
+        refreshToken.setUserId(user.getId());
+        refreshToken.setTokenHash(HashUtils.sha256Hex(token));
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(ttl));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    // dontRollbackOn keeps the revocation of a reused token when the refresh itself is rejected
+    @Transactional(dontRollbackOn = InvalidTokenException.class)
+    public Rotation rotate(String token) {
+        var now = Instant.now();
+        var refreshToken = refreshTokenRepository.findByTokenHash(HashUtils.sha256Hex(token))
+                .filter(stored -> stored.getExpiresAt().isAfter(now))
+                .orElseThrow(() -> new InvalidTokenException("Refresh token is invalid or expired"));
+
+        if (refreshTokenRepository.markUsed(refreshToken.getId(), now) == 0) {
+            log.warn("Reuse of refresh token {} of user {}, revoking all tokens of the user",
+                    refreshToken.getId(), refreshToken.getUserId());
+            revokeAll(refreshToken.getUserId());
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+
+        // from the second-level cache in the common case
+        var user = entityManager.find(User.class, refreshToken.getUserId());
+        if (user == null) {
+            throw new InvalidTokenException("Refresh token is invalid or expired");
+        }
+        return new Rotation(user, issue(user));
+    }
+
+    @Transactional
+    public void revokeAll(long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+        accessTokenDenylist.revokeAll(userId);
+    }
+
+    @Transactional
+    @Scheduled(cron = "${security.refresh-token.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+}
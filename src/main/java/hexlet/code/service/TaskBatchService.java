@@ -0,0 +1,163 @@
+package hexlet.code.service;
+
+import hexlet.code.component.CustomValidator;
+import hexlet.code.component.TaskStatusDictionary;
+import hexlet.code.dto.task.TaskBatchResultDTO;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.exception.InvalidRequestParameterException;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repositories.BaseJpaRepository;
+import hexlet.code.repositories.LabelRepository;
+import hexlet.code.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+@Service
+@Timed(value = "app.service", histogram = true)
+public class TaskBatchService {
+
+    private final TaskMapper taskMapper;
+    private final CustomValidator validator;
+    private final TaskStatusDictionary taskStatusDictionary;
+    private final UserRepository userRepository;
+    private final LabelRepository labelRepository;
+    private final EntityManager entityManager;
+    private final TaskStatsService taskStatsService;
+
+    @Value("${tasks.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    public TaskBatchService(
+            TaskMapper taskMapper,
+            CustomValidator validator,
+            TaskStatusDictionary taskStatusDictionary,
+            UserRepository userRepository,
+            LabelRepository labelRepository,
+            EntityManager entityManager,
+            TaskStatsService taskStatsService
+    ) {
+        this.taskMapper = taskMapper;
+        this.validator = validator;
+        this.taskStatusDictionary = taskStatusDictionary;
+        this.userRepository = userRepository;
+        this.labelRepository = labelRepository;
+        this.entityManager = entityManager;
+        this.taskStatsService = taskStatsService;
+    }
+
+    // Creates the valid items and reports the invalid ones per item. Assignees and labels of the whole batch
+    // are checked with one query each, statuses come from the dictionary, and tasks and task_label rows
+    // are written with JDBC batch inserts, flushed every jdbc batch size items.
+    @Transactional
+    public List<TaskBatchResultDTO> create(List<TaskCreateDTO> taskCreateDTOs) {
+        if (taskCreateDTOs.size() > maxBatchSize) {
+            throw new InvalidRequestParameterException(
+                    "Batch must contain at most " + maxBatchSize + " tasks, got " + taskCreateDTOs.size()
+            );
+        }
+
+        var nonNull = taskCreateDTOs.stream().filter(Objects::nonNull).toList();
+        var assigneeIds = findExistingIds(userRepository, nonNull, dto ->
+                dto.getAssigneeId() == null ? List.of() : List.of(dto.getAssigneeId()));
+        var labelIds = findExistingIds(labelRepository, nonNull, dto ->
+                dto.getTaskLabelIds() == null ? List.of() : dto.getTaskLabelIds());
+
+        var results = new ArrayList<TaskBatchResultDTO>(taskCreateDTOs.size());
+        var statsDeltas = new TaskStatsService.Deltas();
+        var persisted = 0;
+
+        for (int i = 0; i < taskCreateDTOs.size(); i++) {
+            var taskCreateDTO = taskCreateDTOs.get(i);
+            Long statusId;
+            try {
+                statusId = validateBatchItem(taskCreateDTO, assigneeIds, labelIds);
+            } catch (ConstraintViolationException | InvalidRequestParameterException e) {
+                results.add(new TaskBatchResultDTO(i, HttpStatus.BAD_REQUEST.value(), null, e.getMessage()));
+                continue;
+            }
+
+            var task = taskMapper.mapWithoutReferences(taskCreateDTO);
+            task.setTaskStatus(entityManager.getReference(TaskStatus.class, statusId));
+            if (taskCreateDTO.getAssigneeId() != null) {
+                task.setAssignee(entityManager.getReference(User.class, taskCreateDTO.getAssigneeId()));
+            }
+            task.setLabels(taskCreateDTO.getTaskLabelIds() == null ? List.of() : taskCreateDTO.getTaskLabelIds()
+                    .stream()
+                    .distinct()
+                    .map(labelId -> entityManager.getReference(Label.class, labelId))
+                    .toList());
+
+            entityManager.persist(task);
+            statsDeltas.add(TaskStatsService.Snapshot.of(task), 1);
+            results.add(new TaskBatchResultDTO(i, HttpStatus.CREATED.value(), taskMapper.map(task), null));
+
+            if (++persisted % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        taskStatsService.apply(statsDeltas);
+        return results;
+    }
+
+    private Set<Long> findExistingIds(
+            BaseJpaRepository<?, Long> repository,
+            List<TaskCreateDTO> taskCreateDTOs,
+            Function<TaskCreateDTO, Collection<Long>> ids
+    ) {
+        var requested = new HashSet<Long>();
+        taskCreateDTOs.forEach(dto -> requested.addAll(ids.apply(dto)));
+        requested.remove(null);
+
+        return requested.isEmpty() ? Set.of() : new HashSet<>(repository.findExistingIds(requested));
+    }
+
+    private Long validateBatchItem(TaskCreateDTO taskCreateDTO, Set<Long> assigneeIds, Set<Long> labelIds) {
+        if (taskCreateDTO == null) {
+            throw new InvalidRequestParameterException("Task must not be null");
+        }
+        validator.validate(taskCreateDTO);
+
+        var statusId = taskStatusDictionary.findId(taskCreateDTO.getStatus())
+                .orElseThrow(() -> new InvalidRequestParameterException(
+                        "TaskStatus with slug " + taskCreateDTO.getStatus() + " not found"
+                ));
+
+        if (taskCreateDTO.getAssigneeId() != null && !assigneeIds.contains(taskCreateDTO.getAssigneeId())) {
+            throw new InvalidRequestParameterException("User with id " + taskCreateDTO.getAssigneeId() + " not found");
+        }
+
+        if (taskCreateDTO.getTaskLabelIds() != null) {
+            var missing = taskCreateDTO.getTaskLabelIds().stream()
+                    .filter(labelId -> !labelIds.contains(labelId))
+                    .distinct()
+                    .toList();
+            if (!missing.isEmpty()) {
+                throw new InvalidRequestParameterException("Labels with ids " + missing + " not found");
+            }
+        }
+
+        return statusId;
+    }
+}
@@ -0,0 +1,270 @@
+package hexlet.code.service;
+
+import hexlet.code.component.TaskStatusDictionary;
+import hexlet.code.dto.task.TaskBulkDeleteDTO;
+import hexlet.code.dto.task.TaskBulkResultDTO;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.exception.DependentResourceNotFoundException;
+import hexlet.code.exception.InvalidRequestParameterException;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStat;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repositories.LabelRepository;
+import hexlet.code.repositories.TaskReadRepository;
+import hexlet.code.repositories.UserRepository;
+import hexlet.code.specification.TaskSpecification;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+
+// Bulk changes run as set-based statements: matching ids are resolved with one select, then every change
+// is a single UPDATE/INSERT/DELETE per chunk of ids instead of loading and saving each task. The chunks
+// exist for the task_stats deltas, which are read per chunk before and after the change. Everything runs
+// in one transaction, so a request may match at most tasks.bulk.max-tasks tasks.
+@Service
+@Timed(value = "app.service", histogram = true)
+public class TaskBulkService {
+
+    private final TaskReadRepository taskReadRepository;
+    private final TaskSpecification taskSpecification;
+    private final TaskStatusDictionary taskStatusDictionary;
+    private final UserRepository userRepository;
+    private final LabelRepository labelRepository;
+    private final EntityManager entityManager;
+    private final TaskStatsService taskStatsService;
+
+    @Value("${tasks.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${tasks.bulk.max-tasks:10000}")
+    private int maxTasks;
+
+    public TaskBulkService(
+            TaskReadRepository taskReadRepository,
+            TaskSpecification taskSpecification,
+            TaskStatusDictionary taskStatusDictionary,
+            UserRepository userRepository,
+            LabelRepository labelRepository,
+            EntityManager entityManager,
+            TaskStatsService taskStatsService
+    ) {
+        this.taskReadRepository = taskReadRepository;
+        this.taskSpecification = taskSpecification;
+        this.taskStatusDictionary = taskStatusDictionary;
+        this.userRepository = userRepository;
+        this.labelRepository = labelRepository;
+        this.entityManager = entityManager;
+        this.taskStatsService = taskStatsService;
+    }
+
+    @Transactional
+    public TaskBulkResultDTO update(TaskBulkUpdateDTO taskBulkUpdateDTO) {
+        var status = taskBulkUpdateDTO.getStatus();
+        var assigneeId = taskBulkUpdateDTO.getAssigneeId();
+        var addLabelIds = distinct(taskBulkUpdateDTO.getAddLabelIds());
+        var removeLabelIds = distinct(taskBulkUpdateDTO.getRemoveLabelIds());
+
+        var updatesColumns = status.isPresent() || assigneeId.isPresent();
+        if (!updatesColumns && addLabelIds.isEmpty() && removeLabelIds.isEmpty()) {
+            throw new InvalidRequestParameterException("Nothing to update");
+        }
+
+        var taskStatus = status.isPresent() ? getTaskStatus(status.get()) : null;
+        var assignee = assigneeId.isPresent() ? getAssignee(assigneeId.get()) : null;
+        checkLabelsExist(addLabelIds);
+
+        var ids = findIds(taskBulkUpdateDTO.getFilter(), taskBulkUpdateDTO.getIds());
+        var statsDimensions = EnumSet.noneOf(TaskStat.Dimension.class);
+        if (status.isPresent()) {
+            statsDimensions.add(TaskStat.Dimension.STATUS);
+        }
+        if (assigneeId.isPresent()) {
+            statsDimensions.add(TaskStat.Dimension.ASSIGNEE);
+        }
+        if (!addLabelIds.isEmpty() || !removeLabelIds.isEmpty()) {
+            statsDimensions.add(TaskStat.Dimension.LABEL);
+        }
+
+        long affected = 0;
+        for (var chunk : chunks(ids)) {
+            // counters of the chunk are taken out before the change and added back after it
+            taskStatsService.applyForTasks(chunk, statsDimensions, -1);
+            if (!removeLabelIds.isEmpty()) {
+                nativeUpdate("delete from task_label where task_id in (:taskIds) and label_id in (:labelIds)")
+                        .setParameter("taskIds", chunk)
+                        .setParameter("labelIds", removeLabelIds)
+                        .executeUpdate();
+            }
+            if (!addLabelIds.isEmpty()) {
+                nativeUpdate("""
+                                insert into task_label (task_id, label_id)
+                                select t.id, l.id from tasks t cross join labels l
+                                where t.id in (:taskIds) and l.id in (:labelIds)
+                                and not exists (
+                                    select 1 from task_label tl where tl.task_id = t.id and tl.label_id = l.id
+                                )""")
+                        .setParameter("taskIds", chunk)
+                        .setParameter("labelIds", addLabelIds)
+                        .executeUpdate();
+            }
+            affected += updateColumns(chunk, taskStatus, assignee, assigneeId.isPresent());
+            taskStatsService.applyForTasks(chunk, statsDimensions, 1);
+        }
+
+        return new TaskBulkResultDTO(affected);
+    }
+
+    @Transactional
+    public TaskBulkResultDTO delete(TaskBulkDeleteDTO taskBulkDeleteDTO) {
+        var ids = findIds(taskBulkDeleteDTO.getFilter(), taskBulkDeleteDTO.getIds());
+
+        long affected = 0;
+        for (var chunk : chunks(ids)) {
+            taskStatsService.applyForTasks(chunk, EnumSet.allOf(TaskStat.Dimension.class), -1);
+            nativeUpdate("delete from task_label where task_id in (:taskIds)")
+                    .setParameter("taskIds", chunk)
+                    .executeUpdate();
+
+            var cb = entityManager.getCriteriaBuilder();
+            var delete = cb.createCriteriaDelete(Task.class);
+            var root = delete.from(Task.class);
+            delete.where(root.get("id").in(chunk));
+            affected += entityManager.createQuery(delete).executeUpdate();
+        }
+
+        return new TaskBulkResultDTO(affected);
+    }
+
+    // Bulk statements bypass @Version and auditing, so version and updated_at are bumped here,
+    // label-only changes included
+    private int updateColumns(List<Long> ids, TaskStatus taskStatus, User assignee, boolean updatesAssignee) {
+        var cb = entityManager.getCriteriaBuilder();
+        var update = cb.createCriteriaUpdate(Task.class);
+        var root = update.from(Task.class);
+
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+
+        if (taskStatus != null) {
+            update.set(root.<TaskStatus>get("taskStatus"), taskStatus);
+        }
+        if (updatesAssignee && assignee != null) {
+            update.set(root.<User>get("assignee"), assignee);
+        } else if (updatesAssignee) {
+            update.set(root.<User>get("assignee"), cb.nullLiteral(User.class));
+        }
+        update.where(root.get("id").in(ids));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    // Declaring the touched table keeps Hibernate from evicting every second-level cache region,
+    // which it does for native statements with unknown query spaces
+    private NativeQuery<?> nativeUpdate(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("task_label");
+    }
+
+    private List<Long> findIds(TaskParamsDTO filter, List<Long> ids) {
+        if (filter == null && ids == null) {
+            throw new InvalidRequestParameterException("Either filter or ids must be specified");
+        }
+        if (ids == null && !hasCriteria(filter)) {
+            throw new InvalidRequestParameterException("Filter must have at least one criterion");
+        }
+        if (ids != null && ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids != null && ids.size() > maxTasks) {
+            throw new InvalidRequestParameterException("At most " + maxTasks + " ids can be given");
+        }
+
+        Specification<Task> specification = filter == null
+                ? (root, query, cb) -> cb.conjunction()
+                : taskSpecification.build(filter);
+        if (ids != null) {
+            specification = specification.and((root, query, cb) -> root.get("id").in(ids));
+        }
+
+        var found = taskReadRepository.findIds(specification, maxTasks + 1);
+        if (found.size() > maxTasks) {
+            throw new InvalidRequestParameterException("More than " + maxTasks + " tasks match, narrow the filter");
+        }
+        return found;
+    }
+
+    // labelMatch and the paging params only shape other criteria
+    // Only criteria that narrow the set count: titleCont="" matches every task
+    private static boolean hasCriteria(TaskParamsDTO filter) {
+        return isNotBlank(filter.getTitleCont())
+                || filter.getAssigneeId() != null
+                || isNotBlank(filter.getStatus())
+                || filter.getLabelId() != null
+                || Boolean.TRUE.equals(filter.getUnassigned())
+                || isNotEmpty(filter.getLabelIds())
+                || isNotEmpty(filter.getStatuses())
+                || isNotEmpty(filter.getAssigneeIds());
+    }
+
+    private static boolean isNotEmpty(List<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private static boolean isNotBlank(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private TaskStatus getTaskStatus(String slug) {
+        return taskStatusDictionary.findId(slug)
+                .map(id -> entityManager.getReference(TaskStatus.class, id))
+                .orElseThrow(() -> new DependentResourceNotFoundException(
+                        "TaskStatus with slug " + slug + " not found"
+                ));
+    }
+
+    private User getAssignee(Long assigneeId) {
+        if (assigneeId == null) {
+            return null;
+        }
+        if (!userRepository.existsById(assigneeId)) {
+            throw new DependentResourceNotFoundException("User with id " + assigneeId + " not found");
+        }
+        return entityManager.getReference(User.class, assigneeId);
+    }
+
+    private void checkLabelsExist(List<Long> labelIds) {
+        if (labelIds.isEmpty()) {
+            return;
+        }
+        var missing = new HashSet<>(labelIds);
+        labelRepository.findExistingIds(labelIds).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new DependentResourceNotFoundException("Labels with ids " + missing + " not found");
+        }
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        var result = new ArrayList<List<Long>>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            result.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return result;
+    }
+
+    private static List<Long> distinct(List<Long> ids) {
+        return ids == null ? List.of() : ids.stream().distinct().toList();
+    }
+}
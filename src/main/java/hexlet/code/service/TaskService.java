@@ -3,49 +3,139 @@ package hexlet.code.service;
 import hexlet.code.component.CustomValidator;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskListDigest;
+import hexlet.code.dto.task.TaskPageDTO;
 import hexlet.code.dto.task.TaskParamsDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
+import hexlet.code.exception.InvalidRequestParameterException;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Task;
+import hexlet.code.repositories.TaskReadRepository;
 import hexlet.code.repositories.TaskRepository;
+import hexlet.code.specification.TaskCursor;
+import hexlet.code.specification.TaskSortKey;
 import hexlet.code.specification.TaskSpecification;
+import hexlet.code.util.TaskCursorUtils;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
+@Timed(value = "app.service", histogram = true)
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskReadRepository taskReadRepository;
     private final TaskMapper taskMapper;
     private final TaskSpecification taskSpecification;
     private final CustomValidator validator;
+    private final TaskCursorUtils taskCursorUtils;
+    private final TaskStatsService taskStatsService;
+
+    @Value("${tasks.pagination.default-limit:100}")
+    private int defaultLimit;
+
+    @Value("${tasks.pagination.max-limit:500}")
+    private int maxLimit;
+
+    @Value("${tasks.export.fetch-size:500}")
+    private int fetchSize;
 
     public TaskService(
             TaskRepository taskRepository,
+            TaskReadRepository taskReadRepository,
             TaskMapper taskMapper,
             TaskSpecification taskSpecification,
-            CustomValidator validator
+            CustomValidator validator,
+            TaskCursorUtils taskCursorUtils,
+            TaskStatsService taskStatsService
     ) {
         this.taskRepository = taskRepository;
+        this.taskReadRepository = taskReadRepository;
         this.taskMapper = taskMapper;
         this.taskSpecification = taskSpecification;
         this.validator = validator;
+        this.taskCursorUtils = taskCursorUtils;
+        this.taskStatsService = taskStatsService;
+    }
+
+    @Transactional
+    public TaskPageDTO getAll(TaskParamsDTO params) {
+        return getAll(params, count(params));
     }
 
+    // For callers that already know the total, e.g. from getListDigest
     @Transactional
-    public List<TaskDTO> getAll(TaskParamsDTO params) {
-        return taskRepository.findAll(taskSpecification.build(params)).stream()
+    public TaskPageDTO getAll(TaskParamsDTO params, long totalCount) {
+        var sortKey = TaskSortKey.fromParam(params.getSort());
+        var direction = getDirection(params.getOrder());
+        var specification = getSortedSpecification(params, sortKey, direction);
+
+        var offset = params.getStart() == null ? 0 : params.getStart();
+        var limit = getLimit(params);
+
+        var tasks = taskReadRepository.findAll(specification, offset, limit + 1);
+        var hasNext = tasks.size() > limit;
+        var data = tasks.stream()
+                .limit(limit)
                 .map(taskMapper::map)
                 .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            var last = data.get(data.size() - 1);
+            nextCursor = taskCursorUtils.encode(new TaskCursor(
+                    sortKey.getAttribute(),
+                    direction.name(),
+                    getSortValue(last, sortKey),
+                    last.getId()
+            ));
+        }
+
+        return new TaskPageDTO(data, nextCursor, totalCount);
+    }
+
+    public long count(TaskParamsDTO params) {
+        validateParams(params);
+        return taskRepository.count(taskSpecification.build(params));
+    }
+
+    public TaskListDigest getListDigest(TaskParamsDTO params) {
+        validateParams(params);
+        return taskReadRepository.getDigest(taskSpecification.build(params));
+    }
+
+    public long getVersion(long id) {
+        return taskRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task with id " + id + " not found"));
+    }
+
+    // Passes every matching task to the consumer as soon as its row is read,
+    // the page limit is not applied and memory use does not depend on the result size.
+    @Transactional
+    public void export(TaskParamsDTO params, Consumer<TaskDTO> consumer) {
+        var sortKey = TaskSortKey.fromParam(params.getSort());
+        var direction = getDirection(params.getOrder());
+
+        try (var tasks = taskReadRepository.stream(getSortedSpecification(params, sortKey, direction), fetchSize)) {
+            tasks.map(taskMapper::map).forEach(consumer);
+        }
     }
 
     @Transactional
     public TaskDTO getById(long id) {
-        return taskRepository.findById(id)
+        return taskReadRepository.findById(id)
                 .map(taskMapper::map)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with id " + id + " not found"));
     }
@@ -56,22 +146,120 @@ public class TaskService {
 
         var task = taskMapper.map(taskCreateDTO);
         task = taskRepository.save(task);
+        taskStatsService.created(task);
         return taskMapper.map(task);
     }
 
     @Transactional
     public TaskDTO update(long id, TaskUpdateDTO taskUpdateDTO) {
+        return update(id, taskUpdateDTO, null);
+    }
+
+    // expectedVersions come from If-Match, null means an unconditional update. A write committed between
+    // the check and the flush fails the version predicate of the UPDATE with an optimistic lock error.
+    @Transactional
+    public TaskDTO update(long id, TaskUpdateDTO taskUpdateDTO, Collection<Long> expectedVersions) {
         validator.validate(taskUpdateDTO);
 
-        var task = taskRepository.findById(id)
+        var task = taskRepository.findWithLabelsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with id " + id + " not found"));
+        if (expectedVersions != null && !expectedVersions.contains(task.getVersion())) {
+            throw new PreconditionFailedException("Task with id " + id + " has been modified");
+        }
+
+        var before = TaskStatsService.Snapshot.of(task);
         taskMapper.update(taskUpdateDTO, task);
-        task = taskRepository.save(task);
+        taskStatsService.updated(before, task);
+        // flushed here so the returned version is the one the row has been written with
+        task = taskRepository.saveAndFlush(task);
 
         return taskMapper.map(task);
     }
 
+    @Transactional
     public void delete(long id) {
-        taskRepository.deleteById(id);
+        taskRepository.findWithLabelsById(id).ifPresent(task -> {
+            taskRepository.delete(task);
+            taskStatsService.deleted(task);
+        });
+    }
+
+    private Specification<Task> getSortedSpecification(
+            TaskParamsDTO params,
+            TaskSortKey sortKey,
+            Sort.Direction direction
+    ) {
+        var cursor = getCursor(params.getAfter(), sortKey, direction);
+
+        return taskSpecification.build(params)
+                .and(taskSpecification.after(cursor, sortKey, direction))
+                .and(taskSpecification.orderBy(sortKey, direction));
+    }
+
+    // Rejects invalid sort params up front, before a streamed or cached response is produced
+    private void validateParams(TaskParamsDTO params) {
+        getCursor(params.getAfter(), TaskSortKey.fromParam(params.getSort()), getDirection(params.getOrder()));
+        getLimit(params);
+    }
+
+    // limit wins over a _start/_end range, both are capped by the max limit
+    private int getLimit(TaskParamsDTO params) {
+        var start = params.getStart();
+        var end = params.getEnd();
+        if (start != null && start < 0) {
+            throw new InvalidRequestParameterException("_start must not be negative, got " + start);
+        }
+        if (start != null && params.getAfter() != null) {
+            throw new InvalidRequestParameterException("_start and after can't be combined");
+        }
+
+        var limit = params.getLimit();
+        if (limit == null && end != null) {
+            limit = end - (start == null ? 0 : start);
+        }
+        if (limit == null) {
+            return Math.min(defaultLimit, maxLimit);
+        }
+        if (limit < 1) {
+            throw new InvalidRequestParameterException("Limit must be positive, got " + limit);
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    private Sort.Direction getDirection(String order) {
+        if (order == null) {
+            return Sort.Direction.ASC;
+        }
+        return Sort.Direction.fromOptionalString(order)
+                .orElseThrow(() -> new InvalidRequestParameterException("Unsupported order " + order));
+    }
+
+    private TaskCursor getCursor(String after, TaskSortKey sortKey, Sort.Direction direction) {
+        if (after == null) {
+            return null;
+        }
+
+        var cursor = taskCursorUtils.decode(after);
+        if (!sortKey.getAttribute().equals(cursor.getSort()) || !direction.name().equals(cursor.getOrder())) {
+            throw new InvalidRequestParameterException("Cursor " + after + " does not match requested sort");
+        }
+
+        try {
+            sortKey.parse(cursor.getValue());
+        } catch (RuntimeException e) {
+            throw new InvalidRequestParameterException("Invalid cursor " + after);
+        }
+
+        return cursor;
+    }
+
+    private String getSortValue(TaskDTO task, TaskSortKey sortKey) {
+        var value = switch (sortKey) {
+            case ID -> task.getId();
+            case INDEX -> task.getIndex();
+            case NAME -> task.getTitle();
+            case CREATED_AT -> task.getCreatedAt();
+        };
+        return Objects.toString(value, null);
     }
 }
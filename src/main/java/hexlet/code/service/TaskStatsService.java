@@ -0,0 +1,303 @@
+package hexlet.code.service;
+
+import hexlet.code.component.TaskStatusDictionary;
+import hexlet.code.dto.task.TaskStatsDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStat;
+import hexlet.code.model.TaskStat.Dimension;
+import hexlet.code.model.TaskStatId;
+import hexlet.code.repositories.TaskStatRepository;
+import hexlet.code.util.DatabaseUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+// Maintains task_stats incrementally: every task write adds its +1/-1 deltas to the counters in the
+// same transaction, so reading the statistics never groups over the tasks table. Changes that bypass
+// the services are fixed by repair(), run periodically by TaskStatsRepairJob.
+//
+// There is no counter for the total: a single row upserted by every create and delete would serialize
+// all task writers on its lock until they commit. Every task has a status, so the total is the sum of
+// the STATUS counters.
+@Slf4j
+@Service
+@Timed(value = "app.service", histogram = true)
+public class TaskStatsService {
+
+    private static final String POSTGRES_UPSERT = """
+            insert into task_stats (dimension, key_id, task_count) values (?, ?, ?)
+            on conflict (dimension, key_id) do update set task_count = task_stats.task_count + excluded.task_count""";
+
+    private static final String MERGE_UPSERT = """
+            merge into task_stats t
+            using (values (cast(? as varchar(16)), cast(? as bigint), cast(? as bigint))) d(dimension, key_id, delta)
+            on t.dimension = d.dimension and t.key_id = d.key_id
+            when matched then update set task_count = t.task_count + d.delta
+            when not matched then insert (dimension, key_id, task_count) values (d.dimension, d.key_id, d.delta)""";
+
+    private static final String TASK_COUNTS_BY_STATUS = "select task_status_id, count(*) from tasks %s"
+            + " group by task_status_id";
+    private static final String TASK_COUNTS_BY_ASSIGNEE = "select coalesce(assignee_id, 0), count(*) from tasks %s"
+            + " group by coalesce(assignee_id, 0)";
+    private static final String TASK_COUNTS_BY_LABEL = "select label_id, count(*) from task_label %s"
+            + " group by label_id";
+
+    private static final Duration REPAIR_LOCK_TIMEOUT = Duration.ofSeconds(10);
+
+    private final TaskStatRepository taskStatRepository;
+    private final TaskStatusDictionary taskStatusDictionary;
+    private final DatabaseUtils databaseUtils;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // H2 has no table lock that waits for in-flight writers like the Postgres one in repair(), so there
+    // writers hold the read side until their transaction completes and repair() holds the write side
+    private final ReentrantReadWriteLock repairLock = new ReentrantReadWriteLock();
+
+    public TaskStatsService(
+            TaskStatRepository taskStatRepository,
+            TaskStatusDictionary taskStatusDictionary,
+            DatabaseUtils databaseUtils,
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate
+    ) {
+        this.taskStatRepository = taskStatRepository;
+        this.taskStatusDictionary = taskStatusDictionary;
+        this.databaseUtils = databaseUtils;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public TaskStatsDTO getStats() {
+        var stats = new TaskStatsDTO(0, 0, new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+        for (var stat : taskStatRepository.findAll()) {
+            var count = stat.getTaskCount();
+            var keyId = stat.getId().getKeyId();
+            if (count <= 0) {
+                continue;
+            }
+
+            switch (stat.getId().getDimension()) {
+                case STATUS -> {
+                    stats.setTotal(stats.getTotal() + count);
+                    stats.getByStatus().put(taskStatusDictionary.findSlug(keyId), count);
+                }
+                case ASSIGNEE -> {
+                    if (keyId == TaskStat.NO_KEY) {
+                        stats.setUnassigned(count);
+                    } else {
+                        stats.getByAssignee().put(keyId, count);
+                    }
+                }
+                case LABEL -> stats.getByLabel().put(keyId, count);
+                default -> throw new IllegalStateException("Unexpected dimension " + stat.getId().getDimension());
+            }
+        }
+        return stats;
+    }
+
+    public void created(Task task) {
+        apply(new Deltas().add(Snapshot.of(task), 1));
+    }
+
+    public void updated(Snapshot before, Task task) {
+        apply(new Deltas().add(before, -1).add(Snapshot.of(task), 1));
+    }
+
+    public void deleted(Task task) {
+        apply(new Deltas().add(Snapshot.of(task), -1));
+    }
+
+    // Adds sign * the current counters of the given tasks, read with one grouped query per dimension.
+    // Set-based changes call it with -1 before and +1 after changing the rows.
+    public void applyForTasks(Collection<Long> taskIds, Set<Dimension> dimensions, int sign) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+
+        var deltas = new Deltas();
+        for (var entry : countTasks(dimensions, "where id in (:taskIds)", "where task_id in (:taskIds)",
+                Map.of("taskIds", taskIds)).entrySet()) {
+            deltas.add(entry.getKey(), sign * entry.getValue());
+        }
+        apply(deltas);
+    }
+
+    public void apply(Deltas deltas) {
+        var rows = new ArrayList<Object[]>();
+        deltas.values.forEach((id, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[] {id.getDimension().name(), id.getKeyId(), delta});
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (databaseUtils.isPostgres()) {
+            jdbcTemplate.batchUpdate(POSTGRES_UPSERT, rows);
+        } else {
+            var lock = repairLock.readLock();
+            if (!TransactionSynchronizationManager.hasResource(lock)) {
+                lock.lock();
+                unlockOnCompletion(lock);
+            }
+            jdbcTemplate.batchUpdate(MERGE_UPSERT, rows);
+        }
+    }
+
+    // Recomputes every counter with GROUP BY and corrects the rows that drifted. The lock waits for in-flight
+    // deltas to commit and holds off new ones until the corrected values are written.
+    @Transactional
+    public int repair() {
+        if (databaseUtils.isPostgres()) {
+            jdbcTemplate.execute("lock table task_stats in share row exclusive mode");
+        } else if (!lockForRepair()) {
+            log.warn("Task stats repair skipped: writers kept the stats locked for {}", REPAIR_LOCK_TIMEOUT);
+            return 0;
+        }
+
+        // rows of dimensions that are no longer counted, such as the former total
+        namedParameterJdbcTemplate.update("delete from task_stats where dimension not in (:dimensions)",
+                Map.of("dimensions", Arrays.stream(Dimension.values()).map(Dimension::name).toList()));
+
+        var expected = countTasks(EnumSet.allOf(Dimension.class), "", "", Map.of());
+        var actual = new HashMap<TaskStatId, Long>();
+        for (var stat : taskStatRepository.findAll()) {
+            actual.put(stat.getId(), stat.getTaskCount());
+        }
+
+        var deltas = new Deltas();
+        expected.forEach((id, count) -> deltas.add(id, count - actual.getOrDefault(id, 0L)));
+        actual.forEach((id, count) -> {
+            if (!expected.containsKey(id)) {
+                deltas.add(id, -count);
+            }
+        });
+
+        var repaired = (int) deltas.values.values().stream().filter(delta -> delta != 0).count();
+        apply(deltas);
+        jdbcTemplate.update("delete from task_stats where task_count = 0");
+
+        if (repaired > 0) {
+            log.warn("Task stats repaired: {} counters drifted", repaired);
+        }
+        return repaired;
+    }
+
+    private Map<TaskStatId, Long> countTasks(
+            Set<Dimension> dimensions,
+            String tasksWhere,
+            String labelsWhere,
+            Map<String, ?> params
+    ) {
+        var counts = new HashMap<TaskStatId, Long>();
+        if (dimensions.contains(Dimension.STATUS)) {
+            query(TASK_COUNTS_BY_STATUS.formatted(tasksWhere), params, (keyId, count) ->
+                    counts.put(new TaskStatId(Dimension.STATUS, keyId), count));
+        }
+        if (dimensions.contains(Dimension.ASSIGNEE)) {
+            query(TASK_COUNTS_BY_ASSIGNEE.formatted(tasksWhere), params, (keyId, count) ->
+                    counts.put(new TaskStatId(Dimension.ASSIGNEE, keyId), count));
+        }
+        if (dimensions.contains(Dimension.LABEL)) {
+            query(TASK_COUNTS_BY_LABEL.formatted(labelsWhere), params, (keyId, count) ->
+                    counts.put(new TaskStatId(Dimension.LABEL, keyId), count));
+        }
+        return counts;
+    }
+
+    // Bounded wait: a writer holding the read side may itself wait for a row locked by a writer that is
+    // queued behind this lock, giving up breaks that cycle
+    private boolean lockForRepair() {
+        var lock = repairLock.writeLock();
+        try {
+            if (!lock.tryLock(REPAIR_LOCK_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        unlockOnCompletion(lock);
+        return true;
+    }
+
+    // Keeps the lock until the transaction completes, afterCompletion runs on the locking thread
+    private static void unlockOnCompletion(Lock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.unlock();
+            throw new IllegalStateException("Task stats must be changed inside a transaction");
+        }
+        TransactionSynchronizationManager.bindResource(lock, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(lock);
+                lock.unlock();
+            }
+        });
+    }
+
+    private void query(String sql, Map<String, ?> params, BiConsumer<Long, Long> consumer) {
+        namedParameterJdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(rs.getLong(1), rs.getLong(2));
+        });
+    }
+
+    // The counters a task contributes to
+    public record Snapshot(Long statusId, Long assigneeId, List<Long> labelIds) {
+
+        public static Snapshot of(Task task) {
+            var labels = task.getLabels() == null ? List.<Label>of() : task.getLabels();
+            return new Snapshot(
+                    task.getTaskStatus() == null ? null : task.getTaskStatus().getId(),
+                    task.getAssignee() == null ? null : task.getAssignee().getId(),
+                    labels.stream().map(Label::getId).distinct().toList()
+            );
+        }
+    }
+
+    // Accumulated counter changes, applied in key order so concurrent writers lock rows in the same order
+    public static final class Deltas {
+
+        private final Map<TaskStatId, Long> values = new TreeMap<>(Comparator
+                .comparing(TaskStatId::getDimension)
+                .thenComparing(TaskStatId::getKeyId));
+
+        public Deltas add(Snapshot snapshot, long sign) {
+            if (snapshot.statusId() != null) {
+                add(new TaskStatId(Dimension.STATUS, snapshot.statusId()), sign);
+            }
+            var assigneeId = snapshot.assigneeId() == null ? TaskStat.NO_KEY : snapshot.assigneeId();
+            add(new TaskStatId(Dimension.ASSIGNEE, assigneeId), sign);
+            snapshot.labelIds().forEach(labelId -> add(new TaskStatId(Dimension.LABEL, labelId), sign));
+            return this;
+        }
+
+        private void add(TaskStatId id, long delta) {
+            values.merge(id, delta, Long::sum);
+        }
+    }
+}
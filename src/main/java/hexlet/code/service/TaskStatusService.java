@@ -1,6 +1,7 @@
 package hexlet.code.service;
 
 import hexlet.code.component.CustomValidator;
+import hexlet.code.component.TaskStatusDictionary;
 import hexlet.code.dto.task_status.TaskStatusCreateDTO;
 import hexlet.code.dto.task_status.TaskStatusDTO;
 import hexlet.code.dto.task_status.TaskStatusUpdateDTO;
@@ -8,25 +9,30 @@ import hexlet.code.exception.UnableDeleteException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskStatusMapper;
 import hexlet.code.repositories.TaskStatusRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class TaskStatusService {
 
     private final TaskStatusRepository taskStatusRepository;
     private final TaskStatusMapper taskStatusMapper;
     private final CustomValidator validator;
+    private final TaskStatusDictionary taskStatusDictionary;
 
     public TaskStatusService(
             TaskStatusRepository taskStatusRepository,
             TaskStatusMapper taskStatusMapper,
-            CustomValidator validator
+            CustomValidator validator,
+            TaskStatusDictionary taskStatusDictionary
     ) {
         this.taskStatusRepository = taskStatusRepository;
         this.taskStatusMapper = taskStatusMapper;
         this.validator = validator;
+        this.taskStatusDictionary = taskStatusDictionary;
     }
 
     public List<TaskStatusDTO> getAll() {
@@ -46,6 +52,7 @@ public class TaskStatusService {
 
         var taskStatus = taskStatusMapper.map(taskCreateDTO);
         taskStatusRepository.save(taskStatus);
+        taskStatusDictionary.invalidate();
         return taskStatusMapper.map(taskStatus);
     }
 
@@ -56,11 +63,13 @@ public class TaskStatusService {
                 .orElseThrow(() -> new ResourceNotFoundException("Task status with id " + id + " not found"));
         taskStatusMapper.update(taskStatusUpdateDTO, taskStatus);
         taskStatusRepository.save(taskStatus);
+        taskStatusDictionary.invalidate();
 
         return taskStatusMapper.map(taskStatus);
     }
 
     public void delete(long id) {
         taskStatusRepository.deleteByIdOrThrow(id, new UnableDeleteException("Can't delete TaskStatus with id " + id));
+        taskStatusDictionary.invalidate();
     }
 }
@@ -7,10 +7,14 @@ import hexlet.code.dto.user.UserUpdateDTO;
 import hexlet.code.exception.UnableDeleteException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.UserMapper;
+import hexlet.code.model.User;
 import hexlet.code.repositories.UserRepository;
 import hexlet.code.util.UserUtils;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
@@ -18,24 +22,28 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 
 @Service
-public class UserService implements UserDetailsManager {
+@Timed(value = "app.service", histogram = true)
+public class UserService implements UserDetailsManager, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final CustomValidator validator;
     private final UserUtils userUtils;
+    private final RefreshTokenService refreshTokenService;
 
 
     public UserService(
             UserRepository userRepository,
             UserMapper userMapper,
             CustomValidator validator,
-            UserUtils userUtils
+            UserUtils userUtils,
+            RefreshTokenService refreshTokenService
     ) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.validator = validator;
         this.userUtils = userUtils;
+        this.refreshTokenService = refreshTokenService;
     }
 
     public List<UserDTO> getAll() {
@@ -64,15 +72,22 @@ public class UserService implements UserDetailsManager {
 
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User with id " + id + " not found"));
+        var changesPassword = userUpdateDTO.getPassword() != null && userUpdateDTO.getPassword().isPresent();
         userMapper.update(userUpdateDTO, user);
         userRepository.save(user);
 
+        // sessions started with the old password end, the one changing it included
+        if (changesPassword) {
+            refreshTokenService.revokeAll(id);
+        }
+
         return userMapper.map(user);
     }
 
     @PreAuthorize("@userUtils.isOwner(#id)")
     public void delete(long id) {
         userRepository.deleteByIdOrThrow(id, new UnableDeleteException("Can't delete user with id " + id));
+        refreshTokenService.revokeAll(id);
     }
 
     @Override
@@ -102,7 +117,23 @@ public class UserService implements UserDetailsManager {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
+        return userUtils.findByEmail(email)
                 .orElseThrow(() -> userUtils.getUsernameNotFoundException(email));
     }
+
+    // Called after a successful login when the stored hash is outdated, see PasswordEncoderConfig
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        var user = (User) userDetails;
+        try {
+            userRepository.findById(user.getId()).ifPresent(stored -> {
+                stored.setPasswordDigest(newPassword);
+                userRepository.save(stored);
+            });
+        } catch (OptimisticLockingFailureException e) {
+            // the user changed concurrently, the hash is upgraded on a later login
+        }
+        user.setPasswordDigest(newPassword);
+        return user;
+    }
 }
@@ -0,0 +1,21 @@
+package hexlet.code.specification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCursor {
+
+    private String sort;
+
+    private String order;
+
+    private String value;
+
+    private Long id;
+}
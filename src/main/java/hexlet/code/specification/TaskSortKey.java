@@ -0,0 +1,39 @@
+package hexlet.code.specification;
+
+import hexlet.code.exception.InvalidRequestParameterException;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+@Getter
+public enum TaskSortKey {
+    ID("id", Long::valueOf),
+    INDEX("index", Long::valueOf),
+    NAME("name", Function.identity()),
+    CREATED_AT("createdAt", LocalDateTime::parse);
+
+    private final String attribute;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    TaskSortKey(String attribute, Function<String, ? extends Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.parser = parser;
+    }
+
+    public Comparable<?> parse(String value) {
+        return value == null ? null : parser.apply(value);
+    }
+
+    public static TaskSortKey fromParam(String param) {
+        if (param == null) {
+            return ID;
+        }
+
+        return Arrays.stream(values())
+                .filter(it -> it.attribute.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestParameterException("Unsupported sort key " + param));
+    }
+}
@@ -1,23 +1,48 @@
 package hexlet.code.specification;
 
+import hexlet.code.component.TaskStatusDictionary;
+import hexlet.code.component.TaskTitleIndex;
 import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.exception.InvalidRequestParameterException;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 
 @Component
 public class TaskSpecification {
 
+    private final TaskTitleIndex taskTitleIndex;
+    private final TaskStatusDictionary taskStatusDictionary;
+
+    public TaskSpecification(TaskTitleIndex taskTitleIndex, TaskStatusDictionary taskStatusDictionary) {
+        this.taskTitleIndex = taskTitleIndex;
+        this.taskStatusDictionary = taskStatusDictionary;
+    }
+
     public Specification<Task> build(TaskParamsDTO params) {
         return withTitleContain(params.getTitleCont())
                 .and(withAssigneeId(params.getAssigneeId()))
-                .and(withStatus(params.getStatus()))
-                .and(withLabelId(params.getLabelId()));
+                .and(withAssigneeIds(params.getAssigneeIds(), params.getUnassigned()))
+                .and(withStatuses(params.getStatus() == null ? null : List.of(params.getStatus())))
+                .and(withStatuses(params.getStatuses()))
+                .and(withLabelId(params.getLabelId()))
+                .and(withLabelIds(params.getLabelIds(), params.getLabelMatch()));
     }
 
     private Specification<Task> withTitleContain(String title) {
@@ -26,7 +51,13 @@ public class TaskSpecification {
                 return cb.conjunction();
             }
 
-            return cb.like(cb.lower(root.get("name")), "%" + title.toLowerCase(Locale.ROOT) + "%");
+            var contains = cb.like(cb.lower(root.get("name")), "%" + title.toLowerCase(Locale.ROOT) + "%");
+
+            // Narrow the LIKE to candidate ids when the in-process index can answer,
+            // on Postgres the LIKE itself is served by the pg_trgm index.
+            return taskTitleIndex.findCandidates(title)
+                    .map(ids -> ids.isEmpty() ? cb.disjunction() : cb.and(root.get("id").in(ids), contains))
+                    .orElse(contains);
         };
     }
 
@@ -40,28 +71,143 @@ public class TaskSpecification {
         };
     }
 
-    private Specification<Task> withStatus(String status) {
+    private Specification<Task> withAssigneeIds(List<Long> assigneeIds, Boolean unassigned) {
         return (root, query, cb) -> {
-            if (status == null) {
+            var hasIds = assigneeIds != null && !assigneeIds.isEmpty();
+            if (!hasIds && unassigned == null) {
                 return cb.conjunction();
             }
 
-            return cb.equal(cb.lower(root.get("taskStatus").get("slug")), status.toLowerCase(Locale.ROOT));
+            var assignee = root.get("assignee");
+            if (!hasIds) {
+                return unassigned ? cb.isNull(assignee) : cb.isNotNull(assignee);
+            }
+
+            var inIds = assignee.get("id").in(assigneeIds);
+            return Boolean.TRUE.equals(unassigned) ? cb.or(inIds, cb.isNull(assignee)) : inIds;
+        };
+    }
+
+    // Compares task_status_id with ids resolved by the status dictionary, no join or subquery on task_statuses
+    private Specification<Task> withStatuses(List<String> statuses) {
+        return (root, query, cb) -> {
+            if (statuses == null || statuses.isEmpty()) {
+                return cb.conjunction();
+            }
+
+            var statusIds = taskStatusDictionary.findIdsIgnoreCase(statuses);
+            if (statusIds.isEmpty()) {
+                return cb.disjunction();
+            }
+
+            return root.get("taskStatus").get("id").in(statusIds);
         };
     }
 
     private Specification<Task> withLabelId(Long labelId) {
+        return withLabelIds(labelId == null ? null : List.of(labelId), null);
+    }
+
+    // Semi-joins on task_label instead of a join + distinct: one exists over all ids for "any",
+    // one exists per id for "all". Both are served by the task_label (label_id, task_id) index.
+    private Specification<Task> withLabelIds(List<Long> labelIds, String labelMatch) {
+        var matchAll = isMatchAll(labelMatch);
+
         return (root, query, cb) -> {
-            if (labelId == null) {
+            if (labelIds == null || labelIds.isEmpty()) {
                 return cb.conjunction();
             }
+            // without a query there is nothing to hang the subquery on, and dropping the filter would widen the match
+            if (query == null) {
+                throw new IllegalStateException("Label filters need a criteria query");
+            }
+
+            if (!matchAll) {
+                return cb.exists(hasLabel(root, query, cb, labelIds));
+            }
 
+            var predicates = labelIds.stream()
+                    .distinct()
+                    .map(labelId -> cb.exists(hasLabel(root, query, cb, List.of(labelId))))
+                    .toArray(Predicate[]::new);
+            return cb.and(predicates);
+        };
+    }
+
+    private Subquery<Integer> hasLabel(
+            Root<Task> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb,
+            Collection<Long> labelIds
+    ) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Join<Task, Label> labels = subquery.correlate(root).join("labels");
+        return subquery.select(cb.literal(1))
+                .where(labels.get("id").in(labelIds));
+    }
+
+    private boolean isMatchAll(String labelMatch) {
+        if (labelMatch == null || "any".equalsIgnoreCase(labelMatch)) {
+            return false;
+        }
+        if ("all".equalsIgnoreCase(labelMatch)) {
+            return true;
+        }
+        throw new InvalidRequestParameterException("Unsupported labelMatch " + labelMatch);
+    }
+
+    // Keyset predicate: rows strictly after the cursor in (sort key, id) order.
+    // Nulls are treated as the highest values, the same way Postgres orders them by default.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Specification<Task> after(TaskCursor cursor, TaskSortKey sortKey, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+
+            Expression<Long> id = root.get("id");
+            var ascending = direction.isAscending();
+            var afterId = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+
+            if (sortKey == TaskSortKey.ID) {
+                return afterId;
+            }
+
+            Expression<Comparable> key = root.get(sortKey.getAttribute());
+            Comparable value = sortKey.parse(cursor.getValue());
+
+            if (value == null) {
+                var sameKey = cb.and(cb.isNull(key), afterId);
+                return ascending ? sameKey : cb.or(cb.isNotNull(key), sameKey);
+            }
+
+            var sameKey = cb.and(cb.equal(key, value), afterId);
+            return ascending
+                    ? cb.or(cb.greaterThan(key, value), sameKey, cb.isNull(key))
+                    : cb.or(cb.lessThan(key, value), sameKey);
+        };
+    }
+
+    public Specification<Task> orderBy(TaskSortKey sortKey, Sort.Direction direction) {
+        return (root, query, cb) -> {
             if (query != null) {
-                query.distinct(true);
+                var orders = new ArrayList<Order>();
+                if (sortKey != TaskSortKey.ID) {
+                    orders.add(order(cb, root.get(sortKey.getAttribute()), direction));
+                }
+                orders.add(order(cb, root.get("id"), direction));
+                query.orderBy(orders);
             }
 
-            Join<Task, Label> taskLabelJoin = root.join("labels", JoinType.INNER);
-            return cb.equal(taskLabelJoin.get("id"), labelId);
+            return cb.conjunction();
         };
     }
+
+    private Order order(CriteriaBuilder cb, Expression<?> expression, Sort.Direction direction) {
+        if (cb instanceof HibernateCriteriaBuilder hcb) {
+            return direction.isAscending() ? hcb.asc(expression, false) : hcb.desc(expression, true);
+        }
+
+        return direction.isAscending() ? cb.asc(expression) : cb.desc(expression);
+    }
 }
@@ -0,0 +1,12 @@
+package hexlet.code.util;
+
+import java.security.Principal;
+
+// Principal of a request authenticated by a JWT, built from the token claims only
+public record AuthenticatedUser(long id, String email) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
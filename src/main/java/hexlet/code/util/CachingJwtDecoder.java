@@ -0,0 +1,59 @@
+package hexlet.code.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Predicate;
+
+// Keeps decoded and verified tokens until their exp, so a token reused for an hour has its signature checked
+// once instead of on every request. Entries are keyed by a SHA-256 of the token, failures are not cached.
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final Cache<String, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, Jwt>creating((key, jwt) ->
+                        Duration.between(Instant.now(), jwt.getExpiresAt())))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) {
+        var key = HashUtils.sha256Hex(token);
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        var jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now())) {
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    // Drops cached tokens, e.g. of a user whose tokens are revoked, so the next request decodes them again
+    public void evictIf(Predicate<Jwt> predicate) {
+        cache.asMap().values().removeIf(predicate);
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,35 @@
+package hexlet.code.util;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Component
+public class DatabaseUtils {
+
+    private final DataSource dataSource;
+
+    private volatile String productName;
+
+    public DatabaseUtils(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public boolean isPostgres() {
+        return "PostgreSQL".equals(getProductName());
+    }
+
+    public String getProductName() {
+        if (productName == null) {
+            try {
+                productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Unable to read database metadata", e);
+            }
+        }
+        return productName;
+    }
+}
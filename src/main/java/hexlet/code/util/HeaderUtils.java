@@ -3,4 +3,6 @@ package hexlet.code.util;
 public class HeaderUtils {
 
     public static final String X_TOTAL_COUNT_HEADER_NAME = "X-Total-Count";
+
+    public static final String X_NEXT_CURSOR_HEADER_NAME = "X-Next-Cursor";
 }
@@ -1,29 +1,46 @@
 package hexlet.code.util;
 
+import hexlet.code.model.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 
 @Component
 public class JWTUtils {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+    // iat in milliseconds, see AccessTokenDenylist
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    // Bumped whenever the claims change, tokens of other versions are rejected and the client logs in again
+    public static final long TOKEN_VERSION = 1;
+
     private final JwtEncoder encoder;
 
+    // clients that keep the refresh cookie renew access tokens at /api/token/refresh
+    @Value("${security.jwt.access-token-ttl:PT1H}")
+    private Duration accessTokenTtl;
+
     public JWTUtils(JwtEncoder encoder) {
         this.encoder = encoder;
     }
 
-    public String generateToken(String username) {
+    public String generateToken(User user) {
         Instant now = Instant.now();
         JwtClaimsSet claims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
-                .expiresAt(now.plus(1, ChronoUnit.HOURS))
-                .subject(username)
+                .expiresAt(now.plus(accessTokenTtl))
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(TOKEN_VERSION_CLAIM, TOKEN_VERSION)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
                 .build();
         return this.encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
     }
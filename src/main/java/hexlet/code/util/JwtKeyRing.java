@@ -0,0 +1,130 @@
+package hexlet.code.util;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSSignerFactory;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Signing keys by kid. The first key signs new tokens; keys replaced by rotate() keep verifying the tokens
+// they signed and are dropped after the retention, which must cover the token TTL and the verifier's clock skew.
+public class JwtKeyRing {
+
+    public enum Algorithm {
+        RS256(JWSAlgorithm.RS256),
+        ES256(JWSAlgorithm.ES256),
+        EdDSA(JWSAlgorithm.EdDSA);
+
+        private final JWSAlgorithm jwsAlgorithm;
+
+        Algorithm(JWSAlgorithm jwsAlgorithm) {
+            this.jwsAlgorithm = jwsAlgorithm;
+        }
+
+        public JWSAlgorithm getJwsAlgorithm() {
+            return jwsAlgorithm;
+        }
+
+        public JWK generateKey() throws JOSEException {
+            return switch (this) {
+                case RS256 -> new RSAKeyGenerator(RSAKeyGenerator.MIN_KEY_SIZE_BITS)
+                        .algorithm(jwsAlgorithm).keyIDFromThumbprint(true).generate();
+                case ES256 -> new ECKeyGenerator(Curve.P_256)
+                        .algorithm(jwsAlgorithm).keyIDFromThumbprint(true).generate();
+                case EdDSA -> new OctetKeyPairGenerator(Curve.Ed25519)
+                        .algorithm(jwsAlgorithm).keyIDFromThumbprint(true).generate();
+            };
+        }
+    }
+
+    public record SigningKey(JWK key, JWSAlgorithm algorithm, JWSSigner signer, JWSVerifier verifier,
+                             Instant retiredAt) {
+    }
+
+    private final Algorithm algorithm;
+    private final Duration retention;
+
+    private volatile List<SigningKey> keys;
+    private volatile JWKSet publicKeys;
+
+    public JwtKeyRing(Algorithm algorithm, JWK initialKey, Duration retention) throws JOSEException {
+        this.algorithm = algorithm;
+        this.retention = retention;
+        update(List.of(signingKey(initialKey)));
+    }
+
+    public SigningKey getSigningKey() {
+        return keys.get(0);
+    }
+
+    public JWKSet getPublicKeys() {
+        return publicKeys;
+    }
+
+    // Starts signing with a new key, returns its kid
+    public synchronized String rotate() throws JOSEException {
+        var now = Instant.now();
+        var rotated = new ArrayList<SigningKey>();
+        rotated.add(signingKey(algorithm.generateKey()));
+        for (var key : keys) {
+            var retiredAt = key.retiredAt() == null ? now : key.retiredAt();
+            if (retiredAt.plus(retention).isAfter(now)) {
+                rotated.add(new SigningKey(key.key(), key.algorithm(), key.signer(), key.verifier(), retiredAt));
+            }
+        }
+        update(rotated);
+        return rotated.get(0).key().getKeyID();
+    }
+
+    // Only keys of the algorithm named in the token header are candidates, so a token can't pick a weaker
+    // verification than its key was made for. Tokens without kid are matched against every such key.
+    public List<SigningKey> findVerificationKeys(String keyId, JWSAlgorithm jwsAlgorithm) {
+        return keys.stream()
+                .filter(key -> key.algorithm().equals(jwsAlgorithm))
+                .filter(key -> keyId == null || keyId.equals(key.key().getKeyID()))
+                .toList();
+    }
+
+    private SigningKey signingKey(JWK key) throws JOSEException {
+        var jwsAlgorithm = key.getAlgorithm() != null
+                ? JWSAlgorithm.parse(key.getAlgorithm().getName())
+                : algorithm.getJwsAlgorithm();
+        return new SigningKey(key, jwsAlgorithm, new DefaultJWSSignerFactory().createJWSSigner(key, jwsAlgorithm),
+                verifier(key), null);
+    }
+
+    private static JWSVerifier verifier(JWK key) throws JOSEException {
+        if (key instanceof RSAKey rsaKey) {
+            return new RSASSAVerifier(rsaKey.toRSAPublicKey());
+        }
+        if (key instanceof ECKey ecKey) {
+            return new ECDSAVerifier(ecKey.toECPublicKey());
+        }
+        if (key instanceof OctetKeyPair octetKeyPair) {
+            return new Ed25519Verifier(octetKeyPair.toPublicJWK());
+        }
+        throw new JOSEException("Unsupported key type " + key.getKeyType());
+    }
+
+    private void update(List<SigningKey> updated) {
+        keys = List.copyOf(updated);
+        publicKeys = new JWKSet(updated.stream().map(SigningKey::key).toList()).toPublicJWKSet();
+    }
+}
@@ -0,0 +1,72 @@
+package hexlet.code.util;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+
+// Verifies with the key of the ring named by kid, using the verifier kept with the key. The Nimbus processor
+// behind NimbusJwtDecoder only selects java.security keys and so cannot verify EdDSA.
+public class KeyRingJwtDecoder implements JwtDecoder {
+
+    // exp and nbf are accepted this far off, retired keys are kept for the token TTL plus this
+    public static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private final JwtKeyRing keyRing;
+
+    private final MappedJwtClaimSetConverter claimSetConverter = MappedJwtClaimSetConverter.withDefaults(Map.of());
+
+    private final OAuth2TokenValidator<Jwt> validator = JwtValidators.createDefaultWithValidators(
+            new JwtTimestampValidator(CLOCK_SKEW));
+
+    public KeyRingJwtDecoder(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @Override
+    public Jwt decode(String token) {
+        SignedJWT signedJwt;
+        Map<String, Object> claims;
+        try {
+            signedJwt = SignedJWT.parse(token);
+            if (!verify(signedJwt)) {
+                throw new BadJwtException("Invalid token signature");
+            }
+            claims = claimSetConverter.convert(signedJwt.getJWTClaimsSet().getClaims());
+        } catch (ParseException | JOSEException e) {
+            throw new BadJwtException("Malformed token: " + e.getMessage(), e);
+        }
+
+        var jwt = Jwt.withTokenValue(token)
+                .headers(headers -> headers.putAll(signedJwt.getHeader().toJSONObject()))
+                .claims(values -> values.putAll(claims))
+                .build();
+
+        var result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            throw new JwtValidationException("Invalid token: " + result.getErrors().iterator().next().getDescription(),
+                    result.getErrors());
+        }
+        return jwt;
+    }
+
+    private boolean verify(SignedJWT signedJwt) throws JOSEException {
+        var header = signedJwt.getHeader();
+        for (var key : keyRing.findVerificationKeys(header.getKeyID(), header.getAlgorithm())) {
+            if (signedJwt.verify(key.verifier())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
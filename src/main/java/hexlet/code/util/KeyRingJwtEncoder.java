@@ -0,0 +1,50 @@
+package hexlet.code.util;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import java.time.Instant;
+import java.util.Date;
+
+// Signs with the current key of the ring and names it in the kid header. Signs with Nimbus directly because
+// the Spring encoder has no EdDSA support.
+public class KeyRingJwtEncoder implements JwtEncoder {
+
+    private final JwtKeyRing keyRing;
+
+    public KeyRingJwtEncoder(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) {
+        var signingKey = keyRing.getSigningKey();
+        var header = new JWSHeader.Builder(signingKey.algorithm())
+                .type(JOSEObjectType.JWT)
+                .keyID(signingKey.key().getKeyID())
+                .build();
+
+        var claims = new JWTClaimsSet.Builder();
+        parameters.getClaims().getClaims().forEach((name, value) ->
+                claims.claim(name, value instanceof Instant instant ? Date.from(instant) : value));
+
+        var signedJwt = new SignedJWT(header, claims.build());
+        try {
+            signedJwt.sign(signingKey.signer());
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Unable to sign the token: " + e.getMessage(), e);
+        }
+
+        return Jwt.withTokenValue(signedJwt.serialize())
+                .headers(headers -> headers.putAll(header.toJSONObject()))
+                .claims(values -> values.putAll(parameters.getClaims().getClaims()))
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package hexlet.code.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.exception.InvalidRequestParameterException;
+import hexlet.code.specification.TaskCursor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+
+@Component
+public class TaskCursorUtils {
+
+    private final ObjectMapper objectMapper;
+
+    public TaskCursorUtils(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public String encode(TaskCursor cursor) {
+        try {
+            var json = objectMapper.writeValueAsBytes(cursor);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode task cursor", e);
+        }
+    }
+
+    public TaskCursor decode(String cursor) {
+        try {
+            var json = Base64.getUrlDecoder().decode(cursor);
+            var result = objectMapper.readValue(json, TaskCursor.class);
+
+            if (result.getId() == null || result.getSort() == null || result.getOrder() == null) {
+                throw getInvalidCursorException(cursor);
+            }
+
+            return result;
+        } catch (IllegalArgumentException | IOException e) {
+            throw getInvalidCursorException(cursor);
+        }
+    }
+
+    private InvalidRequestParameterException getInvalidCursorException(String cursor) {
+        return new InvalidRequestParameterException("Invalid cursor " + cursor);
+    }
+}
@@ -1,28 +1,56 @@
 package hexlet.code.util;
 
 import hexlet.code.model.User;
-import hexlet.code.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Component
 public class UserUtils {
 
-    private final UserRepository userRepository;
+    private final EntityManager entityManager;
 
-    public UserUtils(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public UserUtils(EntityManager entityManager) {
+        this.entityManager = entityManager;
     }
 
-    public User getCurrentUser() {
+    // Taken from the token claims, see UserJwtAuthenticationConverter
+    public AuthenticatedUser getCurrentPrincipal() {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
             return null;
         }
-        var email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> getUsernameNotFoundException(email));
+        return principal;
+    }
+
+    public Long getCurrentUserId() {
+        var principal = getCurrentPrincipal();
+        return principal == null ? null : principal.id();
+    }
+
+    // Loaded by the id from the token, so it comes from the second-level cache
+    @Transactional
+    public User getCurrentUser() {
+        var principal = getCurrentPrincipal();
+        if (principal == null) {
+            return null;
+        }
+        return Optional.ofNullable(entityManager.find(User.class, principal.id()))
+                .orElseThrow(() -> getUsernameNotFoundException(principal.email()));
+    }
+
+    // The email -> id resolution and the user itself come from the second-level cache
+    @Transactional
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
     }
 
     public UsernameNotFoundException getUsernameNotFoundException(String email) {
@@ -30,6 +58,7 @@ public class UserUtils {
     }
 
     public boolean isOwner(long id) {
-        return getCurrentUser().getId() == id;
+        var currentUserId = getCurrentUserId();
+        return currentUserId != null && currentUserId == id;
     }
 }
@@ -0,0 +1,161 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import hexlet.code.component.JsonWriters;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.repositories.TaskRepository;
+import hexlet.code.service.TaskBatchService;
+import hexlet.code.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Bytes on the wire with and without gzip, and serialization time of a task page with a plain mapper
+// versus the application mapper (Blackbird, warmed-up shared writer).
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ApiPayloadBenchmarkTest {
+
+    private static final int TASK_COUNT = 500;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${default-user.password}")
+    private String defaultUserPassword;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JsonWriters jsonWriters;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Faker faker;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private String token;
+
+    @BeforeAll
+    void seed() throws Exception {
+        var tasks = new ArrayList<TaskCreateDTO>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(new TaskCreateDTO((long) i, faker.book().title(), faker.lorem().paragraph(20), "draft",
+                    null, null));
+        }
+        taskBatchService.create(tasks);
+
+        var login = objectMapper.writeValueAsString(
+                Map.of("username", "hexlet@example.com", "password", defaultUserPassword));
+        var response = httpClient.send(HttpRequest.newBuilder(uri("/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(login))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        token = "Bearer " + response.body();
+    }
+
+    @AfterAll
+    void cleanup() {
+        taskRepository.deleteAll();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<byte[]> fetchTasks(String acceptEncoding) throws Exception {
+        var request = HttpRequest.newBuilder(uri("/api/tasks?limit=" + TASK_COUNT))
+                .header("Authorization", token)
+                .header("Accept-Encoding", acceptEncoding)
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    void compareBytesOnWire() throws Exception {
+        var identity = fetchTasks("identity");
+        var gzip = fetchTasks("gzip");
+
+        assertEquals(200, gzip.statusCode());
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(gzip.body().length < identity.body().length);
+
+        log.info("tasks page of {}: {} bytes identity, {} bytes gzip ({}%)", TASK_COUNT, identity.body().length,
+                gzip.body().length, gzip.body().length * 100 / identity.body().length);
+
+        BenchmarkRunner.measure("GET /api/tasks identity", 5, 50, () -> fetchTasks("identity"));
+        BenchmarkRunner.measure("GET /api/tasks gzip", 5, 50, () -> fetchTasks("gzip"));
+    }
+
+    @Test
+    void compareSerialization() throws Exception {
+        var params = new TaskParamsDTO();
+        params.setLimit(TASK_COUNT);
+        List<TaskDTO> page = taskService.getAll(params).getData();
+
+        // configured like JacksonConfig, minus Blackbird
+        ObjectWriter plain = JsonMapper.builder()
+                .addModules(new JsonNullableModule(), new JavaTimeModule())
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDTO.class));
+        var shared = jsonWriters.getTaskWriter();
+
+        assertEquals(plain.writeValueAsString(page).length(), objectMapper.writeValueAsString(page).length());
+
+        BenchmarkRunner.measure("tasks page, plain mapper", WARMUP, ITERATIONS, () -> plain.writeValueAsBytes(page));
+        BenchmarkRunner.measure("tasks page, shared writer", WARMUP, ITERATIONS, () -> {
+            var out = new ByteArrayOutputStream();
+            try (var sequence = shared.writeValuesAsArray(out)) {
+                sequence.writeAll(page);
+            }
+            return out.size();
+        });
+        BenchmarkRunner.measure("tasks page, application mapper", WARMUP, ITERATIONS,
+                () -> objectMapper.writeValueAsBytes(page));
+    }
+}
@@ -0,0 +1,38 @@
+package hexlet.code.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+
+@Slf4j
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public record Result(String name, double avgMillis, long allocatedBytesPerOp) {
+    }
+
+    public static Result measure(String name, int warmup, int iterations, Callable<?> action) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            action.call();
+        }
+
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        var start = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            action.call();
+        }
+
+        var elapsed = System.nanoTime() - start;
+        var allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        var result = new Result(name, elapsed / 1_000_000.0 / iterations, allocated / iterations);
+        log.info("{}: {} ms/op, {} bytes allocated/op", name, String.format("%.3f", result.avgMillis()),
+                result.allocatedBytesPerOp());
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.task.TaskStatsDTO;
+import hexlet.code.service.TaskStatsService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The generator runs while the context starts, its per-table timings are in the log
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"test", "datagen"})
+public class DatasetGeneratorBenchmarkTest {
+
+    private static final int TASK_COUNT = Integer.getInteger("benchmark.tasks", 1_000_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    // a database of its own, the other benchmarks expect an empty one
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("datagen.tasks", () -> TASK_COUNT);
+    }
+
+    @Test
+    void generate() {
+        assertEquals(TASK_COUNT, count("tasks"));
+        assertEquals(2000, count("users where email like '%@datagen.example.com'"));
+        assertEquals(200, count("labels where name like 'label-%'"));
+        assertTrue(count("task_label") > TASK_COUNT);
+
+        TaskStatsDTO stats = taskStatsService.getStats();
+        assertEquals(TASK_COUNT, stats.getTotal());
+        assertTrue(stats.getUnassigned() > 0);
+        // skewed: the first generated user is assigned far more tasks than the last one
+        var generatedUsers = "select %s(id) from users where email like '%%@datagen.example.com'";
+        var first = jdbcTemplate.queryForObject(generatedUsers.formatted("min"), Long.class);
+        var last = jdbcTemplate.queryForObject(generatedUsers.formatted("max"), Long.class);
+        assertTrue(stats.getByAssignee().get(first) > 10 * stats.getByAssignee().getOrDefault(last, 0L));
+    }
+
+    private long count(String from) {
+        return jdbcTemplate.queryForObject("select count(*) from " + from, Long.class);
+    }
+}
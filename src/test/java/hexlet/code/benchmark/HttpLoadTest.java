@@ -0,0 +1,362 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.ModelGenerator;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.repositories.LabelRepository;
+import hexlet.code.repositories.TaskStatusRepository;
+import hexlet.code.repositories.UserRepository;
+import hexlet.code.service.LabelsService;
+import hexlet.code.service.TaskBatchService;
+import hexlet.code.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Open-model load test: requests start at a fixed rate whether or not earlier ones finished, and latency
+// is measured from the scheduled start, so a stalled server shows up in the percentiles instead of
+// slowing the generator down. Runs with `./gradlew loadTest`, configured by system properties:
+//   loadtest.rate (requests/s, 100), loadtest.duration and loadtest.warmup (seconds, 60 and 10),
+//   loadtest.mix (weights, login:5,list:60,create:15,update:15,delete:5), loadtest.users (20),
+//   loadtest.tasks (seeded tasks, 1000), loadtest.max-in-flight (1000).
+// The database is the in-memory H2 of the tests unless spring.datasource.* points elsewhere, e.g. a local Postgres.
+@Slf4j
+@Tag("loadtest")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "spring.jpa.show-sql=false",
+            "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+        }
+)
+public class HttpLoadTest {
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 100);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 10);
+    private static final String MIX = System.getProperty("loadtest.mix",
+            "login:5,list:60,create:15,update:15,delete:5");
+    private static final int USERS = Integer.getInteger("loadtest.users", 20);
+    private static final int TASKS = Integer.getInteger("loadtest.tasks", 1000);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 1000);
+
+    // distinct payloads generated up front, so the generator does no database work while driving load
+    private static final int PAYLOADS = 200;
+    private static final int LABELS = 20;
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LabelsService labelsService;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Random random = new Random(42);
+
+    private final List<String> logins = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<String> listQueries = new ArrayList<>();
+    private final List<String> createBodies = new ArrayList<>();
+    private final List<String> updateBodies = new ArrayList<>();
+    private final ConcurrentLinkedDeque<Long> taskIds = new ConcurrentLinkedDeque<>();
+
+    private enum Operation {
+        LOGIN("POST /api/login"),
+        LIST("GET /api/tasks"),
+        CREATE("POST /api/tasks"),
+        UPDATE("PUT /api/tasks/{id}"),
+        DELETE("DELETE /api/tasks/{id}");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    private static final class Stats {
+
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<Integer, AtomicLong> errorStatuses = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, int status) {
+            latencies.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+            if (status < 200 || status >= 300) {
+                errors.incrementAndGet();
+                errorStatuses.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+
+    @Test
+    void runLoad() throws Exception {
+        seed();
+        var mix = parseMix();
+        log.info("load: {} req/s for {} s after {} s warm-up, mix {}", RATE, DURATION_SECONDS, WARMUP_SECONDS, MIX);
+
+        drive(mix, WARMUP_SECONDS);
+        var results = drive(mix, DURATION_SECONDS);
+
+        report(results);
+        var total = results.values().stream().mapToLong(stats -> stats.latencies.getTotalCount()).sum();
+        assertTrue(total > 0);
+    }
+
+    private void seed() throws Exception {
+        for (int i = 0; i < USERS; i++) {
+            var user = Instancio.of(modelGenerator.getUserCreateDTOModel()).create();
+            // taken before create, the mapper replaces the password in the DTO with its hash
+            logins.add(objectMapper.writeValueAsString(
+                    Map.of("username", user.getEmail(), "password", user.getPassword())));
+            userService.create(user);
+        }
+        for (int i = 0; i < LABELS; i++) {
+            labelsService.create(Instancio.of(modelGenerator.getLabelCreateDTOModel()).create());
+        }
+
+        var tasks = new ArrayList<TaskCreateDTO>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Instancio.of(modelGenerator.getTaskCreateDTOModel()).create());
+        }
+        taskBatchService.create(tasks).forEach(result -> {
+            if (result.getTask() != null) {
+                taskIds.add(result.getTask().getId());
+            }
+        });
+
+        for (int i = 0; i < PAYLOADS; i++) {
+            createBodies.add(objectMapper.writeValueAsString(
+                    Instancio.of(modelGenerator.getTaskCreateDTOModel()).create()));
+            // a full create payload is a valid full update as well
+            updateBodies.add(objectMapper.writeValueAsString(
+                    Instancio.of(modelGenerator.getTaskCreateDTOModel()).create()));
+        }
+
+        var userIds = userRepository.findAll().stream().map(user -> user.getId()).toList();
+        var labelIds = labelRepository.findAll().stream().map(label -> label.getId()).toList();
+        var slugs = taskStatusRepository.findAll().stream().map(status -> status.getSlug()).toList();
+        listQueries.add("limit=20");
+        listQueries.add("limit=100");
+        for (int i = 0; i < 10; i++) {
+            listQueries.add("status=" + slugs.get(random.nextInt(slugs.size())) + "&limit=50");
+            listQueries.add("assigneeId=" + userIds.get(random.nextInt(userIds.size())));
+            listQueries.add("labelIds=" + labelIds.get(random.nextInt(labelIds.size())) + ","
+                    + labelIds.get(random.nextInt(labelIds.size())) + "&labelMatch=any&limit=50");
+            listQueries.add("titleCont=" + (char) ('a' + random.nextInt(26)) + "&limit=50");
+        }
+
+        for (var login : logins) {
+            var response = httpClient.send(login(login), HttpResponse.BodyHandlers.ofString());
+            tokens.add("Bearer " + response.body());
+        }
+        log.info("seeded {} users, {} labels, {} tasks", USERS, LABELS, taskIds.size());
+    }
+
+    private List<Operation> parseMix() {
+        var mix = new ArrayList<Operation>();
+        for (var entry : MIX.split(",")) {
+            var parts = entry.trim().split(":");
+            var operation = Operation.valueOf(parts[0].trim().toUpperCase());
+            for (int i = 0; i < Integer.parseInt(parts[1].trim()); i++) {
+                mix.add(operation);
+            }
+        }
+        return mix;
+    }
+
+    private Map<Operation, Stats> drive(List<Operation> mix, int seconds) throws Exception {
+        var results = new LinkedHashMap<Operation, Stats>();
+        for (var operation : Operation.values()) {
+            results.put(operation, new Stats());
+        }
+        var dropped = new AtomicLong();
+        var inFlight = new Semaphore(MAX_IN_FLIGHT);
+        var pending = new ConcurrentLinkedDeque<CompletableFuture<?>>();
+
+        var interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        var start = System.nanoTime();
+        var count = (long) RATE * seconds;
+        for (long i = 0; i < count; i++) {
+            var scheduled = start + i * interval;
+            var wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            var operation = mix.get(random.nextInt(mix.size()));
+            var stats = results.get(operation);
+            if (!inFlight.tryAcquire()) {
+                // the client is saturated: count it as a failed request rather than delaying the schedule
+                dropped.incrementAndGet();
+                stats.record(System.nanoTime() - scheduled, -1);
+                continue;
+            }
+
+            var future = send(operation).handle((status, error) -> {
+                stats.record(System.nanoTime() - scheduled, error == null ? status : -1);
+                inFlight.release();
+                return null;
+            });
+            pending.add(future);
+            if (pending.size() > MAX_IN_FLIGHT) {
+                pending.removeIf(CompletableFuture::isDone);
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+
+        if (dropped.get() > 0) {
+            log.warn("{} requests dropped, more than {} in flight", dropped.get(), MAX_IN_FLIGHT);
+        }
+        return results;
+    }
+
+    private CompletableFuture<Integer> send(Operation operation) {
+        var token = tokens.get(random.nextInt(tokens.size()));
+        return switch (operation) {
+            case LOGIN -> sendAsync(login(logins.get(random.nextInt(logins.size()))));
+            case LIST -> sendAsync(request("/api/tasks?" + listQueries.get(random.nextInt(listQueries.size())), token)
+                    .GET()
+                    .build());
+            case CREATE -> sendCreate(token);
+            case UPDATE -> sendUpdate(token);
+            case DELETE -> sendDelete(token);
+        };
+    }
+
+    private CompletableFuture<Integer> sendCreate(String token) {
+        var request = request("/api/tasks", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(createBodies.get(random.nextInt(PAYLOADS))))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (response.statusCode() == 201) {
+                try {
+                    taskIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+                } catch (Exception e) {
+                    return -1;
+                }
+            }
+            return response.statusCode();
+        });
+    }
+
+    // Updated tasks go to the back of the queue, deleted ones are taken from there
+    private CompletableFuture<Integer> sendUpdate(String token) {
+        var id = taskIds.pollFirst();
+        if (id == null) {
+            return CompletableFuture.completedFuture(-1);
+        }
+        var request = request("/api/tasks/" + id, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(updateBodies.get(random.nextInt(PAYLOADS))))
+                .build();
+        return sendAsync(request).whenComplete((status, error) -> taskIds.addLast(id));
+    }
+
+    private CompletableFuture<Integer> sendDelete(String token) {
+        var id = taskIds.pollLast();
+        if (id == null) {
+            return CompletableFuture.completedFuture(-1);
+        }
+        return sendAsync(request("/api/tasks/" + id, token).DELETE().build());
+    }
+
+    private CompletableFuture<Integer> sendAsync(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest login(String body) {
+        return HttpRequest.newBuilder(uri("/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", token);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void report(Map<Operation, Stats> results) {
+        var total = new Histogram(MAX_LATENCY_NANOS, 3);
+        long totalErrors = 0;
+        for (var entry : results.entrySet()) {
+            var stats = entry.getValue();
+            total.add(stats.latencies);
+            totalErrors += stats.errors.get();
+            log.info(line(entry.getKey().endpoint, stats.latencies, stats.errors.get(), stats.errorStatuses));
+        }
+        log.info(line("total", total, totalErrors, Map.of()));
+    }
+
+    private static String line(String name, Histogram histogram, long errors, Map<Integer, AtomicLong> statuses) {
+        var count = histogram.getTotalCount();
+        var errorStatuses = statuses.entrySet().stream()
+                .map(entry -> (entry.getKey() == -1 ? "failed" : entry.getKey()) + "=" + entry.getValue())
+                .collect(Collectors.joining(", ", "[", "]"));
+        return String.format("%-22s %7d req %8.1f req/s  p50 %8.2f  p99 %8.2f  p99.9 %8.2f  max %8.2f ms"
+                        + "  errors %5.2f%% %s",
+                name, count, count / (double) DURATION_SECONDS,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+                count == 0 ? 0 : errors * 100.0 / count, statuses.isEmpty() ? "" : errorStatuses);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,164 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.controllers.AuthenticationController;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Latency of a regular API call alone and next to a login storm, with login throughput and rejections.
+// Password checks run on the bounded hashing pool, so the API percentiles should stay close to the baseline.
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class LoginLoadBenchmarkTest {
+
+    private static final int LOGIN_CLIENTS = 16;
+    private static final int API_REQUESTS = 300;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${default-user.password}")
+    private String defaultUserPassword;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private String loginJson;
+    private String token;
+
+    @BeforeAll
+    void login() throws Exception {
+        loginJson = objectMapper.writeValueAsString(
+                Map.of("username", "hexlet@example.com", "password", defaultUserPassword));
+        token = "Bearer " + sendLogin().body();
+    }
+
+    private HttpResponse<String> sendLogin() throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(uri("/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginJson))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private List<Long> measureApi() throws Exception {
+        var request = HttpRequest.newBuilder(uri("/api/task_statuses")).header("Authorization", token).GET().build();
+        var latencies = new ArrayList<Long>();
+        for (int i = 0; i < API_REQUESTS; i++) {
+            var start = System.nanoTime();
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies.add(System.nanoTime() - start);
+            assertEquals(200, response.statusCode());
+        }
+        Collections.sort(latencies);
+        return latencies;
+    }
+
+    private static String percentiles(List<Long> sorted) {
+        return String.format("p50 %.2f ms, p99 %.2f ms", percentile(sorted, 0.5), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(List<Long> sorted, double quantile) {
+        return sorted.get((int) Math.min(sorted.size() - 1, sorted.size() * quantile)) / 1_000_000.0;
+    }
+
+    @Test
+    void compareApiLatencyUnderLoginLoad() throws Exception {
+        measureApi();
+        var baseline = measureApi();
+
+        var running = new AtomicBoolean(true);
+        var succeeded = new AtomicLong();
+        var rejected = new AtomicLong();
+        var pool = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+        for (int i = 0; i < LOGIN_CLIENTS; i++) {
+            pool.execute(() -> {
+                while (running.get()) {
+                    try {
+                        if (sendLogin().statusCode() == 429) {
+                            // a well-behaved client waits for Retry-After
+                            rejected.incrementAndGet();
+                            Thread.sleep(1000);
+                        } else {
+                            succeeded.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        List<Long> underLoad;
+        var start = System.nanoTime();
+        try {
+            underLoad = measureApi();
+        } finally {
+            running.set(false);
+            pool.shutdownNow();
+        }
+        var seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        log.info("API alone: {}", percentiles(baseline));
+        log.info("API with {} login clients: {}", LOGIN_CLIENTS, percentiles(underLoad));
+        log.info("logins: {}/s succeeded, {}/s rejected with 429", String.format("%.1f", succeeded.get() / seconds),
+                String.format("%.1f", rejected.get() / seconds));
+        assertTrue(succeeded.get() > 0);
+    }
+
+    @Test
+    void compareLoginAndRefresh() throws Exception {
+        var refreshToken = new AtomicReference<>(refreshTokenOf(sendLogin()));
+
+        BenchmarkRunner.measure("POST /api/login", 10, 100, () -> sendLogin().statusCode());
+        BenchmarkRunner.measure("POST /api/token/refresh", 10, 100, () -> {
+            var response = httpClient.send(HttpRequest.newBuilder(uri("/api/token/refresh"))
+                    .header("Cookie", AuthenticationController.REFRESH_TOKEN_COOKIE + "=" + refreshToken.get())
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            refreshToken.set(refreshTokenOf(response));
+            return response.statusCode();
+        });
+    }
+
+    private static String refreshTokenOf(HttpResponse<?> response) {
+        return response.headers().allValues("Set-Cookie").stream()
+                .flatMap(header -> HttpCookie.parse(header).stream())
+                .filter(cookie -> cookie.getName().equals(AuthenticationController.REFRESH_TOKEN_COOKIE))
+                .findFirst()
+                .orElseThrow()
+                .getValue();
+    }
+}
@@ -0,0 +1,107 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.ModelGenerator;
+import hexlet.code.dto.label.LabelDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.repositories.TaskRepository;
+import hexlet.code.service.LabelsService;
+import hexlet.code.service.TaskService;
+import hexlet.code.specification.TaskSortKey;
+import hexlet.code.specification.TaskSpecification;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TaskReadPathBenchmarkTest {
+
+    private static final int TASK_COUNT = 2000;
+    private static final int LABEL_COUNT = 30;
+    private static final int PAGE_SIZE = 500;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSpecification taskSpecification;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private LabelsService labelsService;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<LabelDTO> labels = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            labels.add(labelsService.create(Instancio.of(modelGenerator.getLabelCreateDTOModel()).create()));
+        }
+
+        for (int i = 0; i < TASK_COUNT; i++) {
+            taskService.create(Instancio.of(modelGenerator.getTaskCreateDTOModel()).create());
+        }
+    }
+
+    @AfterAll
+    void cleanup() {
+        taskRepository.deleteAll();
+        labels.forEach(label -> labelsService.delete(label.getId()));
+    }
+
+    private List<TaskDTO> entityPath() {
+        var specification = taskSpecification.build(new TaskParamsDTO())
+                .and(taskSpecification.orderBy(TaskSortKey.ID, Sort.Direction.ASC));
+
+        return transactionTemplate.execute(status -> taskRepository
+                .findBy(specification, query -> query.project("taskStatus").limit(PAGE_SIZE).all())
+                .stream()
+                .map(taskMapper::map)
+                .toList());
+    }
+
+    private List<TaskDTO> projectionPath() {
+        var params = new TaskParamsDTO();
+        params.setLimit(PAGE_SIZE);
+        return taskService.getAll(params).getData();
+    }
+
+    @Test
+    void compareEntityAndProjectionPaths() throws Exception {
+        assertEquals(
+                entityPath().stream().map(TaskDTO::getTaskLabelIds).toList(),
+                projectionPath().stream().map(TaskDTO::getTaskLabelIds).toList()
+        );
+
+        BenchmarkRunner.measure("tasks page via entities + TaskMapper", WARMUP, ITERATIONS, this::entityPath);
+        BenchmarkRunner.measure("tasks page via TaskReadRepository", WARMUP, ITERATIONS, this::projectionPath);
+    }
+}
@@ -0,0 +1,133 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.TaskTitleIndex;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.repositories.TaskReadRepository;
+import hexlet.code.repositories.TaskRepository;
+import hexlet.code.repositories.TaskStatusRepository;
+import hexlet.code.specification.TaskSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TaskTitleSearchBenchmarkTest {
+
+    private static final int TASK_COUNT = Integer.getInteger("benchmark.tasks", 1_000_000);
+    private static final int VOCABULARY_SIZE = 5000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskReadRepository taskReadRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskSpecification taskSpecification;
+
+    @Autowired
+    private TaskTitleIndex taskTitleIndex;
+
+    private final List<String> vocabulary = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        var random = new Random(42);
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            var word = new StringBuilder();
+            var length = 5 + random.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary.add(word.toString());
+        }
+
+        var statusId = taskStatusRepository.findAll().get(0).getId();
+        var createdAt = Timestamp.valueOf(LocalDateTime.now());
+        var batch = new ArrayList<Object[]>(BATCH_SIZE);
+
+        for (int i = 0; i < TASK_COUNT; i++) {
+            var name = vocabulary.get(random.nextInt(VOCABULARY_SIZE)) + " "
+                    + vocabulary.get(random.nextInt(VOCABULARY_SIZE));
+            batch.add(new Object[] {name, statusId, createdAt});
+
+            if (batch.size() == BATCH_SIZE || i == TASK_COUNT - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into tasks (id, name, task_status_id, created_at)"
+                                + " values (nextval('tasks_seq'), ?, ?, ?)",
+                        batch
+                );
+                batch.clear();
+            }
+        }
+
+        taskTitleIndex.rebuild();
+    }
+
+    @AfterAll
+    void cleanup() {
+        jdbcTemplate.update("delete from tasks");
+        taskTitleIndex.rebuild();
+    }
+
+    private Specification<Task> likeOnly(String title) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + title.toLowerCase(Locale.ROOT) + "%");
+    }
+
+    private Specification<Task> indexed(String title) {
+        var params = new TaskParamsDTO();
+        params.setTitleCont(title);
+        return taskSpecification.build(params);
+    }
+
+    private int search(Specification<Task> specification) {
+        var page = taskReadRepository.findAll(specification, PAGE_SIZE);
+        return page.size() + (int) taskRepository.count(specification);
+    }
+
+    @Test
+    void compareLikeScanAndIndexedSearch() throws Exception {
+        var selective = vocabulary.get(7).substring(0, 5);
+        var missing = "zzzqqq";
+
+        assertEquals(search(likeOnly(selective)), search(indexed(selective)));
+        assertEquals(0, search(indexed(missing)));
+
+        BenchmarkRunner.measure("titleCont '" + selective + "' via LIKE scan, " + TASK_COUNT + " tasks",
+                WARMUP, ITERATIONS, () -> search(likeOnly(selective)));
+        BenchmarkRunner.measure("titleCont '" + selective + "' via trigram index, " + TASK_COUNT + " tasks",
+                WARMUP, ITERATIONS, () -> search(indexed(selective)));
+        BenchmarkRunner.measure("titleCont '" + missing + "' via LIKE scan, " + TASK_COUNT + " tasks",
+                WARMUP, ITERATIONS, () -> search(likeOnly(missing)));
+        BenchmarkRunner.measure("titleCont '" + missing + "' via trigram index, " + TASK_COUNT + " tasks",
+                WARMUP, ITERATIONS, () -> search(indexed(missing)));
+    }
+}
@@ -0,0 +1,137 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.AppApplication;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.service.TaskBatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Starts the application once on platform and once on virtual threads and drives GET /api/tasks and
+// POST /api/login with more concurrent clients than Tomcat has platform threads.
+@Slf4j
+@Tag("benchmark")
+public class ThreadingLoadBenchmarkTest {
+
+    private static final int CLIENTS = 400;
+    private static final int TASK_COUNT = 200;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration DURATION = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        var results = new ArrayList<String>(run("platform", false));
+        results.addAll(run("virtual", true));
+        results.forEach(log::info);
+    }
+
+    private List<String> run(String mode, boolean virtualThreads) throws Exception {
+        try (var context = new SpringApplicationBuilder(AppApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                // logins wait for the hashing pool instead of being rejected, so request threads pile up
+                "--security.password-hashing.queue-capacity=" + CLIENTS)) {
+            var environment = context.getEnvironment();
+            var baseUri = "http://localhost:" + environment.getProperty("local.server.port");
+
+            var tasks = new ArrayList<TaskCreateDTO>();
+            for (int i = 0; i < TASK_COUNT; i++) {
+                tasks.add(new TaskCreateDTO((long) i, "Task " + i, "Content " + i, "draft", null, null));
+            }
+            context.getBean(TaskBatchService.class).create(tasks);
+
+            var loginJson = context.getBean(ObjectMapper.class).writeValueAsString(Map.of(
+                    "username", "hexlet@example.com",
+                    "password", environment.getProperty("default-user.password")));
+            var login = HttpRequest.newBuilder(URI.create(baseUri + "/api/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(loginJson))
+                    .build();
+            var token = "Bearer " + httpClient.send(login, HttpResponse.BodyHandlers.ofString()).body();
+            var getTasks = HttpRequest.newBuilder(URI.create(baseUri + "/api/tasks?limit=50"))
+                    .header("Authorization", token)
+                    .GET()
+                    .build();
+
+            return List.of(
+                    measure(mode + " GET /api/tasks",
+                            () -> httpClient.send(getTasks, HttpResponse.BodyHandlers.discarding()).statusCode()),
+                    measure(mode + " POST /api/login",
+                            () -> httpClient.send(login, HttpResponse.BodyHandlers.discarding()).statusCode()));
+        }
+    }
+
+    private String measure(String name, Callable<Integer> call) throws Exception {
+        var latencies = new ConcurrentLinkedQueue<Long>();
+        var statuses = new ConcurrentHashMap<Integer, LongAdder>();
+        var recording = new AtomicBoolean();
+        var running = new AtomicBoolean(true);
+
+        var pool = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                pool.execute(() -> {
+                    while (running.get()) {
+                        var start = System.nanoTime();
+                        int status;
+                        try {
+                            status = call.call();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        if (recording.get()) {
+                            latencies.add(System.nanoTime() - start);
+                            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                        }
+                    }
+                });
+            }
+            Thread.sleep(WARMUP.toMillis());
+            recording.set(true);
+            Thread.sleep(DURATION.toMillis());
+        } finally {
+            recording.set(false);
+            running.set(false);
+            pool.shutdownNow();
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        var sorted = latencies.stream().sorted().toList();
+        var counts = new TreeMap<Integer, Long>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        assertTrue(counts.getOrDefault(200, 0L) > 0, name + " had no successful requests: " + counts);
+
+        return String.format("%s, %d clients: %.1f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, statuses %s",
+                name, CLIENTS, sorted.size() / (double) DURATION.toSeconds(), percentile(sorted, 0.5),
+                percentile(sorted, 0.99), percentile(sorted, 1), counts);
+    }
+
+    private static double percentile(List<Long> sorted, double quantile) {
+        return sorted.get((int) Math.min(sorted.size() - 1, sorted.size() * quantile)) / 1_000_000.0;
+    }
+}
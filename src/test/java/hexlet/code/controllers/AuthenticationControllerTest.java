@@ -0,0 +1,226 @@
+package hexlet.code.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jwt.SignedJWT;
+import hexlet.code.ModelGenerator;
+import hexlet.code.dto.user.UserCreateDTO;
+import hexlet.code.mapper.UserMapper;
+import hexlet.code.model.User;
+import hexlet.code.repositories.UserRepository;
+import hexlet.code.util.BoundedPasswordEncoder;
+import hexlet.code.util.CachingJwtDecoder;
+import hexlet.code.util.JwtKeyRing;
+import jakarta.servlet.http.Cookie;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AuthenticationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ModelGenerator modelGenerator;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CachingJwtDecoder jwtDecoder;
+
+    @Autowired
+    private JwtKeyRing jwtKeyRing;
+
+    private UserCreateDTO testUser;
+    private String testUserPassword;
+
+    @BeforeEach
+    void setupTest() {
+        testUser = Instancio.of(modelGenerator.getUserCreateDTOModel()).create();
+        testUserPassword = testUser.getPassword();
+        userRepository.save(userMapper.map(testUser));
+    }
+
+    @AfterEach
+    void clear() {
+        userRepository.findByEmail(testUser.getEmail()).ifPresent(user -> userRepository.deleteById(user.getId()));
+    }
+
+    private ResultActions login() throws Exception {
+        var loginJson = objectMapper.writeValueAsString(
+                Map.of("username", testUser.getEmail(), "password", testUserPassword));
+        return mockMvc.perform(post("/api/login").contentType(MediaType.APPLICATION_JSON).content(loginJson));
+    }
+
+    private User findTestUser() {
+        return userRepository.findByEmail(testUser.getEmail()).orElseThrow();
+    }
+
+    @Test
+    void testLoginUpgradesLegacyHash() throws Exception {
+        var user = findTestUser();
+        user.setPasswordDigest(new BCryptPasswordEncoder(4).encode(testUserPassword));
+        userRepository.save(user);
+        assertFalse(findTestUser().getPasswordDigest().startsWith("{bcrypt}"));
+
+        login().andExpect(status().isOk());
+
+        var upgraded = findTestUser().getPasswordDigest();
+        assertTrue(upgraded.startsWith("{bcrypt}"));
+        assertTrue(passwordEncoder.matches(testUserPassword, upgraded));
+
+        login().andExpect(status().isOk());
+    }
+
+    @Test
+    void testLoginRejectedWhenHashingSaturated() throws Exception {
+        var executor = passwordEncoder.getExecutor();
+        var release = new CountDownLatch(1);
+        try {
+            // occupy every hashing thread and queue slot
+            while (executor.getQueue().remainingCapacity() > 0) {
+                executor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            login().andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            release.countDown();
+        }
+
+        login().andExpect(status().isOk());
+    }
+
+    @Test
+    void testVerifiedTokenIsCached() throws Exception {
+        var token = "Bearer " + login().andReturn().getResponse().getContentAsString();
+        var hits = jwtDecoder.getStats().hitCount();
+
+        mockMvc.perform(get("/api/users").header("Authorization", token)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header("Authorization", token)).andExpect(status().isOk());
+
+        assertTrue(jwtDecoder.getStats().hitCount() >= hits + 1);
+
+        jwtDecoder.evictIf(jwt -> testUser.getEmail().equals(jwt.getSubject()));
+        var misses = jwtDecoder.getStats().missCount();
+        mockMvc.perform(get("/api/users").header("Authorization", token)).andExpect(status().isOk());
+        assertEquals(misses + 1, jwtDecoder.getStats().missCount());
+    }
+
+    @Test
+    void testKeyRotation() throws Exception {
+        var oldToken = login().andReturn().getResponse().getContentAsString();
+        var oldKid = SignedJWT.parse(oldToken).getHeader().getKeyID();
+
+        var newKid = jwtKeyRing.rotate();
+        var newToken = login().andReturn().getResponse().getContentAsString();
+
+        assertNotEquals(oldKid, newKid);
+        assertEquals(newKid, SignedJWT.parse(newToken).getHeader().getKeyID());
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys[*].kid", hasItems(oldKid, newKid)))
+                .andExpect(jsonPath("$.keys[*].d").doesNotExist());
+
+        jwtDecoder.evictIf(jwt -> true);
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + oldToken)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + newToken)).andExpect(status().isOk());
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/token/refresh")
+                .cookie(new Cookie(AuthenticationController.REFRESH_TOKEN_COOKIE, refreshToken)));
+    }
+
+    private static String refreshTokenOf(ResultActions result) {
+        return result.andReturn().getResponse().getCookie(AuthenticationController.REFRESH_TOKEN_COOKIE).getValue();
+    }
+
+    @Test
+    void testRefresh() throws Exception {
+        var firstRefreshToken = refreshTokenOf(login().andExpect(status().isOk()));
+        var hashingTasks = passwordEncoder.getExecutor().getTaskCount();
+
+        var refreshed = refresh(firstRefreshToken)
+                .andExpect(status().isOk())
+                .andExpect(cookie().httpOnly(AuthenticationController.REFRESH_TOKEN_COOKIE, true))
+                .andExpect(cookie().secure(AuthenticationController.REFRESH_TOKEN_COOKIE, true));
+        var accessToken = refreshed.andReturn().getResponse().getContentAsString();
+        var secondRefreshToken = refreshTokenOf(refreshed);
+
+        assertEquals(hashingTasks, passwordEncoder.getExecutor().getTaskCount());
+        assertNotEquals(firstRefreshToken, secondRefreshToken);
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        // reuse of a spent token revokes the tokens issued after it as well
+        refresh(firstRefreshToken).andExpect(status().isUnauthorized());
+        refresh(secondRefreshToken).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testRevokeRefreshTokens() throws Exception {
+        var result = login().andExpect(status().isOk());
+        var accessToken = result.andReturn().getResponse().getContentAsString();
+        var refreshToken = refreshTokenOf(result);
+
+        mockMvc.perform(post("/api/token/revoke").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/token/refresh")).andExpect(status().isUnauthorized());
+
+        // the access token is rejected although it was verified and cached before
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+
+        var newAccessToken = login().andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + newAccessToken))
+                .andExpect(status().isOk());
+    }
+}
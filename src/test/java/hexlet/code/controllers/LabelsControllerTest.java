@@ -92,7 +92,7 @@ public class LabelsControllerTest {
 
     @AfterEach
     void cleanup() {
-        labelRepository.deleteAll(labelsList);
+        labelRepository.deleteAllById(labelsList.stream().map(Label::getId).toList());
         userRepository.deleteAll(usersList);
     }
 
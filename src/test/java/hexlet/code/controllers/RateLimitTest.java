@@ -0,0 +1,114 @@
+package hexlet.code.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.RateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "security.rate-limit.enabled=true",
+    "security.rate-limit.login-ip.capacity=4",
+    "security.rate-limit.login-ip.period=PT1H",
+    "security.rate-limit.login-username.capacity=2",
+    "security.rate-limit.login-username.period=PT1H",
+    "security.rate-limit.write.capacity=3",
+    "security.rate-limit.write.period=PT1H"
+})
+@AutoConfigureMockMvc
+public class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Value("${default-user.password}")
+    private String defaultUserPassword;
+
+    private MockHttpServletRequestBuilder login(String username, String password, String remoteAddr)
+            throws Exception {
+        return post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("username", username, "password", password)))
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                });
+    }
+
+    @Test
+    void testLoginLimitedByIp() throws Exception {
+        var rejected = rateLimiter.getRejectedCount(RateLimiter.Group.LOGIN_IP);
+
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(login("user" + i + "@example.com", "wrong", "10.0.0.1"))
+                    .andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(login("user5@example.com", "wrong", "10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        // other clients keep their own buckets
+        mockMvc.perform(login("hexlet@example.com", defaultUserPassword, "10.0.0.2"))
+                .andExpect(status().isOk());
+
+        assertEquals(rejected + 1, rateLimiter.getRejectedCount(RateLimiter.Group.LOGIN_IP));
+    }
+
+    @Test
+    void testLoginLimitedByUsername() throws Exception {
+        var username = "victim@example.com";
+
+        mockMvc.perform(login(username, "wrong", "10.0.1.1"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(login(username.toUpperCase(), "wrong", "10.0.1.2"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(login(username, "wrong", "10.0.1.3"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void testOversizedLoginBodyRejected() throws Exception {
+        mockMvc.perform(login("hexlet@example.com", "x".repeat(20_000), "10.0.3.1"))
+                .andExpect(status().isPayloadTooLarge());
+
+        mockMvc.perform(login("hexlet@example.com", defaultUserPassword, "10.0.3.1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testWritesLimitedByIp() throws Exception {
+        var rejected = rateLimiter.getRejectedCount(RateLimiter.Group.WRITE);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/labels").with(request -> {
+                request.setRemoteAddr("10.0.2.1");
+                return request;
+            })).andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(post("/api/labels").with(request -> {
+            request.setRemoteAddr("10.0.2.1");
+            return request;
+        })).andExpect(status().isTooManyRequests());
+
+        assertEquals(rejected + 1, rateLimiter.getRejectedCount(RateLimiter.Group.WRITE));
+    }
+}
@@ -3,19 +3,29 @@ package hexlet.code.controllers;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.ModelGenerator;
+import hexlet.code.component.TaskIdSequenceInitializer;
+import hexlet.code.component.TaskTitleIndex;
 import hexlet.code.dto.label.LabelDTO;
+import hexlet.code.dto.label.LabelUpdateDTO;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
 import hexlet.code.dto.task.TaskParamsDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
 import hexlet.code.mapper.UserMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
 import hexlet.code.model.User;
 import hexlet.code.repositories.TaskRepository;
 import hexlet.code.repositories.UserRepository;
 import hexlet.code.service.LabelsService;
+import hexlet.code.service.TaskBatchService;
 import hexlet.code.service.TaskService;
+import hexlet.code.service.TaskStatsService;
+import hexlet.code.specification.TaskSpecification;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.hibernate.SessionFactory;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,14 +37,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
+import static hexlet.code.util.HeaderUtils.X_NEXT_CURSOR_HEADER_NAME;
 import static hexlet.code.util.HeaderUtils.X_TOTAL_COUNT_HEADER_NAME;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.not;
@@ -43,13 +59,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Slf4j
@@ -68,6 +89,24 @@ public class TaskControllerTest {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskIdSequenceInitializer taskIdSequenceInitializer;
+
+    @Autowired
+    private TaskTitleIndex taskTitleIndex;
+
+    @Autowired
+    private TaskSpecification taskSpecification;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private LabelsService labelService;
 
@@ -86,6 +125,9 @@ public class TaskControllerTest {
     @Autowired
     private ModelGenerator modelGenerator;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Value("${default-user.password}")
     private String defaultUserPassword;
 
@@ -303,6 +345,699 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$[0].id").value(sixthId));
     }
 
+    private List<Long> fetchIds(Map<String, String> params) throws Exception {
+        var request = get("/api/tasks").header("Authorization", token);
+        params.forEach(request::queryParam);
+
+        var body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<TaskDTO> tasks = objectMapper.readValue(body, new TypeReference<>() { });
+        return tasks.stream().map(TaskDTO::getId).toList();
+    }
+
+    @Test
+    void testIndexWithMultiValueFilter() throws Exception {
+        taskRepository.deleteAll();
+
+        var firstUser = usersList.get(1).getId();
+        var secondUser = usersList.get(2).getId();
+        var thirdUser = usersList.get(3).getId();
+
+        var firstLabel = labelsList.get(0).getId();
+        var secondLabel = labelsList.get(1).getId();
+        var thirdLabel = labelsList.get(2).getId();
+
+        var firstId = newTask(null, "Первая", "", "draft", firstUser, List.of(firstLabel, secondLabel));
+        var secondId = newTask(null, "Вторая", "", "to_review", secondUser, List.of(secondLabel, thirdLabel));
+        var thirdId = newTask(null, "Третья", "", "published", null, List.of(firstLabel, secondLabel, thirdLabel));
+        var fourthId = newTask(null, "Четвертая", "", "draft", thirdUser, List.of());
+        var fifthId = newTask(null, "Пятая", "", "to_publish", null, List.of(thirdLabel));
+
+        var labels = firstLabel + "," + secondLabel;
+
+        assertEquals(
+                List.of(firstId, secondId, thirdId),
+                fetchIds(Map.of("labelIds", labels))
+        );
+        assertEquals(
+                List.of(firstId, thirdId),
+                fetchIds(Map.of("labelIds", labels, "labelMatch", "all"))
+        );
+        assertEquals(
+                List.of(thirdId),
+                fetchIds(Map.of("labelIds", labels, "labelMatch", "ALL", "labelId", thirdLabel + ""))
+        );
+        assertEquals(
+                List.of(firstId, secondId, fourthId),
+                fetchIds(Map.of("statuses", "draft,TO_REVIEW"))
+        );
+        assertEquals(
+                List.of(firstId, fourthId),
+                fetchIds(Map.of("assigneeIds", firstUser + "," + thirdUser))
+        );
+        assertEquals(
+                List.of(thirdId, fifthId),
+                fetchIds(Map.of("unassigned", "true"))
+        );
+        assertEquals(
+                List.of(firstId, secondId, fourthId),
+                fetchIds(Map.of("unassigned", "false"))
+        );
+        assertEquals(
+                List.of(secondId, thirdId, fifthId),
+                fetchIds(Map.of("assigneeIds", secondUser + "", "unassigned", "true"))
+        );
+        assertEquals(
+                List.of(thirdId),
+                fetchIds(Map.of("assigneeIds", secondUser + "", "unassigned", "true", "labelIds", labels,
+                        "statuses", "published,draft"))
+        );
+
+        mockMvc.perform(
+                        get("/api/tasks")
+                                .queryParam("labelIds", labels)
+                                .header("Authorization", token)
+                )
+                .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "3"));
+
+        mockMvc.perform(
+                        get("/api/tasks")
+                                .queryParam("labelIds", labels)
+                                .queryParam("labelMatch", "some")
+                                .header("Authorization", token)
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testLabelFilterWithoutQuery() {
+        var params = new TaskParamsDTO();
+        params.setLabelId(1L);
+        var specification = taskSpecification.build(params);
+
+        try (var entityManager = entityManagerFactory.createEntityManager()) {
+            var cb = entityManager.getCriteriaBuilder();
+            var root = cb.createCriteriaDelete(Task.class).from(Task.class);
+
+            assertThrows(IllegalStateException.class, () -> specification.toPredicate(root, null, cb));
+        }
+    }
+
+    @Test
+    void testIndexWithTitleSearchAfterRename() throws Exception {
+        var firstId = newTask(null, "Почистить ковер", "", "draft", null, List.of());
+        var secondId = newTask(null, "Помыть КОВЕР в гараже", "", "draft", null, List.of());
+
+        mockMvc.perform(get("/api/tasks").queryParam("titleCont", "Ковер").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "2"))
+                .andExpect(jsonPath("$[0].id").value(firstId))
+                .andExpect(jsonPath("$[1].id").value(secondId));
+
+        var update = new TaskUpdateDTO();
+        update.setTitle(JsonNullable.of("Пропылесосить диван"));
+        taskService.update(firstId, update);
+
+        mockMvc.perform(get("/api/tasks").queryParam("titleCont", "ковер").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "1"))
+                .andExpect(jsonPath("$[0].id").value(secondId));
+
+        mockMvc.perform(get("/api/tasks").queryParam("titleCont", "пылесос").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "1"))
+                .andExpect(jsonPath("$[0].id").value(firstId));
+
+        mockMvc.perform(get("/api/tasks").queryParam("titleCont", "ковер в гараже!").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "0"));
+    }
+
+    @Test
+    void testIndexWithTitleSearchAfterJdbcWrite() throws Exception {
+        newTask(null, "Купить пылесос", "", "draft", null, List.of());
+        var id = newTask(null, "Почистить ковер", "", "draft", null, List.of());
+        jdbcTemplate.update("update tasks set name = ? where id = ?", "Почистить пылесос", id);
+        taskTitleIndex.invalidate();
+
+        mockMvc.perform(get("/api/tasks").queryParam("titleCont", "пылесос").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "2"));
+
+        taskTitleIndex.rebuild();
+
+        mockMvc.perform(get("/api/tasks").queryParam("titleCont", "пылесос").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "2"));
+    }
+
+    private List<TaskDTO> fetchAllPages(Map<String, String> params, int limit) throws Exception {
+        var result = new ArrayList<TaskDTO>();
+        String cursor = null;
+
+        do {
+            var request = get("/api/tasks")
+                    .queryParam("limit", limit + "")
+                    .header("Authorization", token);
+            params.forEach(request::queryParam);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+
+            var response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "24"))
+                    .andReturn().getResponse();
+
+            List<TaskDTO> page = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() { });
+            assertTrue(page.size() <= limit);
+            result.addAll(page);
+            cursor = response.getHeader(X_NEXT_CURSOR_HEADER_NAME);
+        } while (cursor != null);
+
+        return result;
+    }
+
+    @Test
+    void testIndexWithPagination() throws Exception {
+        newTask(null, "Без индекса 1", "content", "draft", null, List.of());
+        newTask(null, "Без индекса 2", "content", "draft", null, List.of());
+        newTask(null, "Без индекса 3", "content", "draft", null, List.of());
+
+        var expected = taskService.getAll(new TaskParamsDTO()).getData();
+        assertEquals(24, expected.size());
+
+        var byId = fetchAllPages(Map.of(), 5);
+        assertEquals(expected.stream().map(TaskDTO::getId).toList(), byId.stream().map(TaskDTO::getId).toList());
+
+        var indexComparator = Comparator.comparing(TaskDTO::getIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(TaskDTO::getId);
+
+        var byIndexAsc = fetchAllPages(Map.of("sort", "index", "order", "asc"), 4);
+        assertEquals(
+                expected.stream().sorted(indexComparator).map(TaskDTO::getId).toList(),
+                byIndexAsc.stream().map(TaskDTO::getId).toList()
+        );
+
+        var byIndexDesc = fetchAllPages(Map.of("sort", "index", "order", "desc"), 7);
+        assertEquals(
+                expected.stream().sorted(indexComparator.reversed()).map(TaskDTO::getId).toList(),
+                byIndexDesc.stream().map(TaskDTO::getId).toList()
+        );
+
+        var byCreatedAtDesc = fetchAllPages(Map.of("sort", "createdAt", "order", "desc"), 6);
+        assertEquals(24, byCreatedAtDesc.stream().map(TaskDTO::getId).distinct().count());
+    }
+
+    @Test
+    void testIndexWithStartEnd() throws Exception {
+        newTask(null, "Без индекса 1", "content", "draft", null, List.of());
+        newTask(null, "Без индекса 2", "content", "draft", null, List.of());
+        newTask(null, "Без индекса 3", "content", "draft", null, List.of());
+
+        var expected = taskService.getAll(new TaskParamsDTO()).getData().stream().map(TaskDTO::getId).toList();
+        assertEquals(24, expected.size());
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(X_NEXT_CURSOR_HEADER_NAME))
+                .andExpect(jsonPath("$").value(hasSize(24)));
+
+        var actual = new ArrayList<Long>();
+        for (int start = 0; start < 24; start += 10) {
+            var response = mockMvc.perform(get("/api/tasks")
+                            .queryParam("_start", start + "")
+                            .queryParam("_end", start + 10 + "")
+                            .queryParam("_sort", "id")
+                            .queryParam("_order", "ASC")
+                            .header("Authorization", token))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "24"))
+                    .andReturn().getResponse();
+            List<TaskDTO> page = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() { });
+            page.forEach(task -> actual.add(task.getId()));
+        }
+        assertEquals(expected, actual);
+
+        mockMvc.perform(get("/api/tasks").queryParam("_start", "5").queryParam("_end", "5")
+                        .header("Authorization", token))
+                .andExpect(status().isBadRequest());
+
+        var cursor = mockMvc.perform(get("/api/tasks").queryParam("limit", "1").header("Authorization", token))
+                .andReturn().getResponse().getHeader(X_NEXT_CURSOR_HEADER_NAME);
+        mockMvc.perform(get("/api/tasks").queryParam("_start", "0").queryParam("_end", "10")
+                        .queryParam("after", cursor)
+                        .header("Authorization", token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testIndexWithInvalidPagination() throws Exception {
+        mockMvc.perform(get("/api/tasks").queryParam("limit", "0").header("Authorization", token))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks").queryParam("sort", "content").header("Authorization", token))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks").queryParam("after", "not-a-cursor").header("Authorization", token))
+                .andExpect(status().isBadRequest());
+
+        var cursor = mockMvc.perform(get("/api/tasks").queryParam("limit", "1").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(X_NEXT_CURSOR_HEADER_NAME);
+
+        mockMvc.perform(
+                        get("/api/tasks")
+                                .queryParam("after", cursor)
+                                .queryParam("sort", "name")
+                                .header("Authorization", token)
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    private long countStatements(Callable<?> action) throws Exception {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.call();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> labelIds(int count) {
+        return labelsList.stream().limit(count).map(LabelDTO::getId).toList();
+    }
+
+    @Test
+    void testIndexWithUnknownStatusStatementCount() throws Exception {
+        var known = countStatements(() -> mockMvc.perform(
+                get("/api/tasks").queryParam("status", "draft").header("Authorization", token)
+        ).andExpect(status().isOk()));
+
+        // the first miss may reload the dictionary, the following ones within the interval don't
+        mockMvc.perform(get("/api/tasks").queryParam("status", "nonsense").header("Authorization", token))
+                .andExpect(status().isOk());
+        var unknown = countStatements(() -> mockMvc.perform(
+                get("/api/tasks").queryParam("status", "nonsense").header("Authorization", token)
+        ).andExpect(jsonPath("$").value(hasSize(0))));
+
+        assertEquals(known, unknown);
+    }
+
+    @Test
+    void testIndexStatementCount() throws Exception {
+        var small = countStatements(() -> mockMvc.perform(
+                get("/api/tasks").queryParam("limit", "2").header("Authorization", token)
+        ).andExpect(status().isOk()));
+
+        var large = countStatements(() -> mockMvc.perform(
+                get("/api/tasks").queryParam("limit", "50").header("Authorization", token)
+        ).andExpect(jsonPath("$").value(hasSize(21))));
+
+        assertEquals(small, large);
+        assertTrue(large <= 3);
+    }
+
+    @Test
+    void testShowStatementCount() throws Exception {
+        var withoutLabels = newTask(1L, "Без меток", "content", "draft", null, List.of());
+        var withLabels = newTask(2L, "С метками", "content", "draft", usersList.get(0).getId(), labelIds(20));
+
+        var first = countStatements(() -> mockMvc.perform(
+                get("/api/tasks/" + withoutLabels).header("Authorization", token)
+        ).andExpect(status().isOk()));
+
+        var second = countStatements(() -> mockMvc.perform(
+                get("/api/tasks/" + withLabels).header("Authorization", token)
+        ).andExpect(jsonPath("$.taskLabelIds").value(hasSize(20))));
+
+        // version lookup for the ETag plus the task itself
+        assertEquals(2, first);
+        assertEquals(2, second);
+    }
+
+    @Test
+    void testCreateAndUpdateStatementCount() throws Exception {
+        var assigneeId = usersList.get(0).getId();
+
+        var createFew = countStatements(() ->
+                newTask(1L, "Несколько меток", "content", "draft", assigneeId, labelIds(2)));
+        var createMany = countStatements(() ->
+                newTask(2L, "Много меток", "content", "draft", assigneeId, labelIds(20)));
+
+        assertEquals(createFew, createMany);
+
+        var taskId = newTask(3L, "Для обновления", "content", "draft", assigneeId, labelIds(1));
+
+        var updateFew = new TaskUpdateDTO();
+        updateFew.setStatus(JsonNullable.of("to_review"));
+        updateFew.setTaskLabelIds(JsonNullable.of(labelIds(3)));
+
+        var updateMany = new TaskUpdateDTO();
+        updateMany.setStatus(JsonNullable.of("published"));
+        updateMany.setTaskLabelIds(JsonNullable.of(labelIds(20)));
+
+        var updateFewCount = countStatements(() -> taskService.update(taskId, updateFew));
+        var updateManyCount = countStatements(() -> taskService.update(taskId, updateMany));
+
+        assertEquals(updateFewCount, updateManyCount);
+
+        // status slug is resolved by the dictionary: the insert and at most one id sequence call
+        assertTrue(countStatements(() -> newTask(4L, "Без меток", "content", "draft", null, List.of())) <= 2);
+    }
+
+    @Test
+    void testReferenceLookupsUseSecondLevelCache() throws Exception {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var assigneeId = usersList.get(0).getId();
+        newTask(1L, "Прогрев кеша", "content", "draft", assigneeId, labelIds(5));
+
+        // the task insert, its task_label rows and at most one id sequence call
+        var statements = countStatements(() -> newTask(2L, "Из кеша", "content", "draft", assigneeId, labelIds(5)));
+        assertTrue(statements <= 3, "statements: " + statements);
+        labelIds(5).forEach(id -> assertTrue(entityManagerFactory.getCache().contains(Label.class, id)));
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+
+        var label = labelsList.get(0);
+        var labelUpdateDTO = new LabelUpdateDTO();
+        labelUpdateDTO.setName(JsonNullable.of("Переименованная метка"));
+        labelService.update(label.getId(), labelUpdateDTO);
+        assertEquals("Переименованная метка", labelService.getById(label.getId()).getName());
+    }
+
+    private List<TaskCreateDTO> batchOf(int size) {
+        var assigneeId = usersList.get(0).getId();
+        var result = new ArrayList<TaskCreateDTO>();
+        for (int i = 0; i < size; i++) {
+            result.add(new TaskCreateDTO((long) i, "Пакетная задача " + i, "content", "draft", assigneeId,
+                    labelIds(2)));
+        }
+        return result;
+    }
+
+    @Test
+    void testCreateBatch() throws Exception {
+        var assigneeId = usersList.get(1).getId();
+        var labels = labelIds(3);
+
+        var items = new ArrayList<TaskCreateDTO>();
+        items.add(new TaskCreateDTO(1L, "Первая", "content", "draft", assigneeId, labels));
+        items.add(new TaskCreateDTO(2L, "", "content", "draft", null, List.of()));
+        items.add(new TaskCreateDTO(3L, "Третья", "content", "unknown_status", null, List.of()));
+        items.add(new TaskCreateDTO(4L, "Четвертая", "content", "draft", -1L, List.of()));
+        items.add(new TaskCreateDTO(5L, "Пятая", "content", "draft", null, List.of(labels.get(0), -1L)));
+        items.add(null);
+        items.add(new TaskCreateDTO(7L, "Седьмая", null, "to_review", null, null));
+
+        var countBefore = taskRepository.count();
+
+        var body = mockMvc.perform(post("/api/tasks/batch")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(hasSize(7)))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[2].status").value(400))
+                .andExpect(jsonPath("$[3].status").value(400))
+                .andExpect(jsonPath("$[4].status").value(400))
+                .andExpect(jsonPath("$[5].status").value(400))
+                .andExpect(jsonPath("$[6].status").value(201))
+                .andExpect(jsonPath("$[4].error").value("Labels with ids [-1] not found"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(countBefore + 2, taskRepository.count());
+
+        var first = objectMapper.readTree(body).get(0).get("task");
+        var created = taskService.getById(first.get("id").asLong());
+        assertEquals("Первая", created.getTitle());
+        assertEquals("draft", created.getStatus());
+        assertEquals(assigneeId, created.getAssigneeId());
+        assertEquals(labels, created.getTaskLabelIds());
+        assertEquals(created.getTaskLabelIds(), objectMapper.convertValue(
+                first.get("taskLabelIds"), new TypeReference<List<Long>>() { }));
+    }
+
+    @Test
+    void testIdSequenceAlignedWithExistingIds() {
+        var maxId = jdbcTemplate.queryForObject("select max(id) from tasks", Long.class);
+        jdbcTemplate.execute("alter sequence tasks_seq restart with 1");
+
+        taskIdSequenceInitializer.alignWithExistingIds();
+
+        // pooled optimizer uses (value - allocation size, value], all above the existing ids
+        var next = jdbcTemplate.queryForObject("select nextval('tasks_seq')", Long.class);
+        assertTrue(next - Task.ID_ALLOCATION_SIZE >= maxId);
+    }
+
+    @Test
+    void testCreateBatchStatementCount() throws Exception {
+        var small = batchOf(100);
+        var large = batchOf(1000);
+
+        var smallCount = countStatements(() -> taskBatchService.create(small));
+        var largeCount = countStatements(() -> taskBatchService.create(large));
+        log.info("Batch create statements: {} for 100 tasks, {} for 1000 tasks", smallCount, largeCount);
+
+        assertTrue(smallCount < 20);
+        assertTrue(largeCount < 100);
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchOf(1001))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long bulk(MockHttpServletRequestBuilder request, Map<String, Object> body) throws Exception {
+        var response = mockMvc.perform(request
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("affected").asLong();
+    }
+
+    @Test
+    void testBulkUpdate() throws Exception {
+        taskRepository.deleteAll();
+
+        var firstUser = usersList.get(1).getId();
+        var secondUser = usersList.get(2).getId();
+        var firstLabel = labelsList.get(0).getId();
+        var secondLabel = labelsList.get(1).getId();
+        var thirdLabel = labelsList.get(2).getId();
+
+        var firstId = newTask(null, "Первая", "", "draft", firstUser, List.of(firstLabel, secondLabel));
+        var secondId = newTask(null, "Вторая", "", "draft", firstUser, List.of(secondLabel));
+        var thirdId = newTask(null, "Третья", "", "draft", secondUser, List.of(firstLabel));
+
+        var affected = bulk(patch("/api/tasks/bulk"), Map.of(
+                "filter", Map.of("assigneeId", firstUser),
+                "status", "published",
+                "assignee_id", secondUser,
+                "addLabelIds", List.of(thirdLabel, secondLabel),
+                "removeLabelIds", List.of(firstLabel)
+        ));
+        assertEquals(2, affected);
+
+        for (var id : List.of(firstId, secondId)) {
+            var task = taskService.getById(id);
+            assertEquals("published", task.getStatus());
+            assertEquals(secondUser, task.getAssigneeId());
+            assertEquals(List.of(secondLabel, thirdLabel), task.getTaskLabelIds());
+        }
+        var untouched = taskService.getById(thirdId);
+        assertEquals("draft", untouched.getStatus());
+        assertEquals(List.of(firstLabel), untouched.getTaskLabelIds());
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + firstId + ", " + thirdId + "], \"assignee_id\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+        assertNull(taskService.getById(firstId).getAssigneeId());
+        assertNull(taskService.getById(thirdId).getAssigneeId());
+        assertEquals(secondUser, taskService.getById(secondId).getAssigneeId());
+
+        assertEquals(1, bulk(patch("/api/tasks/bulk"), Map.of(
+                "filter", Map.of("labelIds", List.of(firstLabel)),
+                "ids", List.of(firstId, thirdId),
+                "addLabelIds", List.of(secondLabel)
+        )));
+        assertEquals(List.of(firstLabel, secondLabel), taskService.getById(thirdId).getTaskLabelIds());
+
+        for (var invalid : List.<Map<String, Object>>of(
+                Map.of("ids", List.of(firstId)),
+                Map.of("status", "published"),
+                Map.of("ids", List.of(firstId), "status", "unknown_status"),
+                Map.of("ids", List.of(firstId), "addLabelIds", List.of(-1)),
+                Map.of("filter", Map.of("labelMatch", "some"), "status", "published"),
+                Map.of("filter", Map.of(), "status", "published")
+        )) {
+            mockMvc.perform(patch("/api/tasks/bulk")
+                            .header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(invalid)))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void testBulkUpdateStatementCount() throws Exception {
+        var ids = taskBatchService.create(batchOf(500)).stream()
+                .map(result -> result.getTask().getId())
+                .toList();
+        var body = Map.<String, Object>of(
+                "ids", ids,
+                "status", "to_review",
+                "addLabelIds", labelIds(5),
+                "removeLabelIds", labelIds(1)
+        );
+
+        // id lookup, status/assignee update, label delete, label insert, plus the user/label existence checks
+        var statements = countStatements(() -> bulk(patch("/api/tasks/bulk"), body));
+        assertTrue(statements <= 6, "statements: " + statements);
+    }
+
+    @Test
+    void testStats() throws Exception {
+        taskRepository.deleteAll();
+        taskStatsService.repair();
+
+        var assignee = usersList.get(0).getId();
+        var otherAssignee = usersList.get(1).getId();
+        var firstLabel = labelsList.get(0).getId();
+        var secondLabel = labelsList.get(1).getId();
+
+        var first = newTask(null, "Первая", "", "draft", assignee, List.of(firstLabel, secondLabel));
+        var second = newTask(null, "Вторая", "", "draft", null, List.of(firstLabel));
+        var third = newTask(null, "Третья", "", "to_review", otherAssignee, List.of());
+        taskBatchService.create(batchOf(3));
+
+        var taskUpdateDTO = new TaskUpdateDTO();
+        taskUpdateDTO.setStatus(JsonNullable.of("published"));
+        taskUpdateDTO.setAssigneeId(JsonNullable.of(null));
+        taskUpdateDTO.setTaskLabelIds(JsonNullable.of(List.of(secondLabel)));
+        taskService.update(first, taskUpdateDTO);
+
+        bulk(patch("/api/tasks/bulk"), Map.of(
+                "ids", List.of(second, third),
+                "status", "published",
+                "addLabelIds", List.of(secondLabel)
+        ));
+        bulk(delete("/api/tasks/bulk"), Map.of("ids", List.of(third)));
+        taskService.delete(second);
+
+        mockMvc.perform(get("/api/tasks/stats").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.unassigned").value(1))
+                .andExpect(jsonPath("$.byStatus.draft").value(3))
+                .andExpect(jsonPath("$.byStatus.published").value(1))
+                .andExpect(jsonPath("$.byStatus.to_review").doesNotExist())
+                .andExpect(jsonPath("$.byAssignee['" + assignee + "']").value(3))
+                .andExpect(jsonPath("$.byAssignee['" + otherAssignee + "']").doesNotExist())
+                .andExpect(jsonPath("$.byLabel['" + firstLabel + "']").value(3))
+                .andExpect(jsonPath("$.byLabel['" + secondLabel + "']").value(4));
+
+        assertEquals(0, taskStatsService.repair());
+
+        jdbcTemplate.update("update task_stats set task_count = task_count + 5 where dimension = 'STATUS'"
+                + " and key_id = (select id from task_statuses where slug = 'draft')");
+        assertEquals(9, taskStatsService.getStats().getTotal());
+        assertEquals(1, taskStatsService.repair());
+        assertEquals(4, taskStatsService.getStats().getTotal());
+    }
+
+    @Test
+    void testBulkDelete() throws Exception {
+        taskRepository.deleteAll();
+
+        var label = labelsList.get(0).getId();
+        var labelled = taskBatchService.create(batchOf(30)).stream()
+                .map(result -> result.getTask().getId())
+                .toList();
+        var other = newTask(null, "Без меток", "", "draft", null, List.of());
+        var countBefore = taskRepository.count();
+
+        assertEquals(30, bulk(delete("/api/tasks/bulk"), Map.of("filter", Map.of("labelId", label))));
+        assertEquals(1, bulk(delete("/api/tasks/bulk"), Map.of("ids", List.of(other, labelled.get(0)))));
+        assertEquals(0, bulk(delete("/api/tasks/bulk"), Map.of("ids", List.of())));
+        assertEquals(countBefore - 31, taskRepository.count());
+
+        for (var invalid : List.of("{}", "{\"filter\": {}}", "{\"filter\": {\"labelIds\": []}}",
+                "{\"filter\": {\"titleCont\": \"\"}}", "{\"filter\": {\"status\": \" \", \"unassigned\": false}}")) {
+            mockMvc.perform(delete("/api/tasks/bulk")
+                            .header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(invalid))
+                    .andExpect(status().isBadRequest());
+        }
+        assertEquals(countBefore - 31, taskRepository.count());
+    }
+
+    @Test
+    void testExport() throws Exception {
+        var started = mockMvc.perform(
+                        get("/api/tasks/export")
+                                .queryParam("sort", "name")
+                                .header("Authorization", token)
+                )
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string(X_TOTAL_COUNT_HEADER_NAME, "21"))
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.json\""))
+                .andReturn().getResponse().getContentAsString();
+
+        List<TaskDTO> exported = objectMapper.readValue(body, new TypeReference<>() { });
+        var expected = taskService.getAll(new TaskParamsDTO()).getData().stream()
+                .sorted(Comparator.comparing(TaskDTO::getTitle).thenComparing(TaskDTO::getId))
+                .map(TaskDTO::getId)
+                .toList();
+
+        assertEquals(expected, exported.stream().map(TaskDTO::getId).toList());
+    }
+
+    @Test
+    void testIndexAsNdjsonStream() throws Exception {
+        var started = mockMvc.perform(
+                        get("/api/tasks")
+                                .queryParam("assigneeId", usersList.get(0).getId() + "")
+                                .accept(MediaType.APPLICATION_NDJSON)
+                                .header("Authorization", token)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        var params = new TaskParamsDTO();
+        params.setAssigneeId(usersList.get(0).getId());
+        var expected = taskService.getAll(params).getData();
+
+        var lines = body.lines().filter(line -> !line.isBlank()).toList();
+        assertEquals(expected.size(), lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(expected.get(i).getId(), objectMapper.readValue(lines.get(i), TaskDTO.class).getId());
+        }
+    }
+
+    @Test
+    void testExportWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").queryParam("after", "broken").header("Authorization", token))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testShow() throws Exception {
         var taskForShow = testTask;
@@ -325,7 +1060,7 @@ public class TaskControllerTest {
 
     @Test
     void testShowWithNonExistId() throws Exception {
-        var list = taskService.getAll(new TaskParamsDTO());
+        var list = taskService.getAll(new TaskParamsDTO()).getData();
         var taskId = list.get(list.size() / 2).getId();
 
         taskService.delete(taskId);
@@ -334,6 +1069,56 @@ public class TaskControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    private String fetchETag(String path) throws Exception {
+        return mockMvc.perform(get(path).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    @Test
+    void testShowWithETag() throws Exception {
+        var path = "/api/tasks/" + testTask.getId();
+        var etag = fetchETag(path);
+
+        var statements = countStatements(() -> mockMvc.perform(
+                        get(path).header("Authorization", token).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string("")));
+        assertEquals(1, statements);
+
+        var labelsOnly = new TaskUpdateDTO();
+        labelsOnly.setTaskLabelIds(JsonNullable.of(labelIds(1)));
+        taskService.update(testTask.getId(), labelsOnly);
+
+        var updatedETag = fetchETag(path);
+        assertNotEquals(etag, updatedETag);
+
+        bulk(patch("/api/tasks/bulk"), Map.of("ids", List.of(testTask.getId()), "addLabelIds", labelIds(2)));
+        assertNotEquals(updatedETag, fetchETag(path));
+
+        mockMvc.perform(get(path).header("Authorization", token).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testIndexWithETag() throws Exception {
+        var path = "/api/tasks?limit=5&sort=name";
+        var etag = fetchETag(path);
+
+        mockMvc.perform(get(path).header("Authorization", token).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().doesNotExist(X_TOTAL_COUNT_HEADER_NAME));
+        assertNotEquals(etag, fetchETag("/api/tasks?limit=6&sort=name"));
+
+        bulk(patch("/api/tasks/bulk"), Map.of("ids", List.of(testTask.getId()), "status", "to_review"));
+        var afterUpdate = fetchETag(path);
+        assertNotEquals(etag, afterUpdate);
+
+        bulk(delete("/api/tasks/bulk"), Map.of("ids", List.of(testTask.getId())));
+        assertNotEquals(afterUpdate, fetchETag(path));
+    }
+
     @Test
     void testCreate() throws Exception {
         var taskCreateDTO = Instancio.of(modelGenerator.getTaskCreateDTOModel()).create();
@@ -557,6 +1342,58 @@ public class TaskControllerTest {
         assertEquals(newTaskData.getTaskLabelIds().get(), taskForUpdate.getTaskLabelIds());
     }
 
+    private MockHttpServletRequestBuilder rename(long taskId, String title) throws Exception {
+        var taskUpdateDTO = new TaskUpdateDTO();
+        taskUpdateDTO.setTitle(JsonNullable.of(title));
+        return put("/api/tasks/" + taskId)
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskUpdateDTO));
+    }
+
+    @Test
+    void testUpdateWithIfMatch() throws Exception {
+        var taskId = testTask.getId();
+        var etag = fetchETag("/api/tasks/" + taskId);
+
+        var updatedETag = mockMvc.perform(rename(taskId, "Первое название").header("If-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(testTask.getVersion() + 1))
+                .andReturn().getResponse().getHeader("ETag");
+        assertFalse(etag.startsWith("W/"));
+        assertNotEquals(etag, updatedETag);
+        assertEquals(updatedETag, fetchETag("/api/tasks/" + taskId));
+
+        mockMvc.perform(rename(taskId, "Устаревшее название").header("If-Match", etag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(rename(taskId, "Чужой тег").header("If-Match", "\"0-0-0\", " + etag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(rename(taskId, "Слабый тег").header("If-Match", "W/" + updatedETag))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Первое название", taskService.getById(taskId).getTitle());
+
+        mockMvc.perform(rename(taskId, "Второе название").header("If-Match", etag + ", " + updatedETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(rename(taskId, "Третье название").header("If-Match", "*"))
+                .andExpect(status().isOk());
+        mockMvc.perform(rename(taskId, "Без условия"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(testTask.getVersion() + 4));
+    }
+
+    @Test
+    void testUpdateWithStaleVersion() {
+        var stale = taskRepository.findById(testTask.getId()).orElseThrow();
+
+        var taskUpdateDTO = new TaskUpdateDTO();
+        taskUpdateDTO.setTitle(JsonNullable.of("Параллельное изменение"));
+        taskService.update(testTask.getId(), taskUpdateDTO);
+
+        stale.setName("Потерянное изменение");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskRepository.save(stale));
+        assertEquals("Параллельное изменение", taskService.getById(testTask.getId()).getTitle());
+    }
+
     @Test
     void testPartlyUpdate() throws Exception {
         var taskForUpdate = testTask;
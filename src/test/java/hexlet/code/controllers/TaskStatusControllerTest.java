@@ -27,6 +27,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static hexlet.code.util.HeaderUtils.X_TOTAL_COUNT_HEADER_NAME;
@@ -90,7 +91,7 @@ public class TaskStatusControllerTest {
 
     @AfterEach
     void cleanup() {
-        taskStatusRepository.deleteAll(taskStatusList);
+        taskStatusRepository.deleteAllById(taskStatusList.stream().map(TaskStatus::getId).toList());
     }
 
     void setupMocks() {
@@ -250,6 +251,41 @@ public class TaskStatusControllerTest {
         assertEquals(newTaskStatusData.getSlug().get(), taskStatusForUpdate.getSlug());
     }
 
+    @Test
+    void testUpdateSlugIsVisibleInTasks() throws Exception {
+        var taskStatus = taskStatusRepository.findBySlug(testTaskStatus.getSlug()).orElseThrow();
+        var oldSlug = taskStatus.getSlug();
+        var task = taskService.create(new TaskCreateDTO(null, "Задача", "", oldSlug, null, List.of()));
+
+        mockMvc.perform(get("/api/tasks").queryParam("status", oldSlug).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(hasSize(1)))
+                .andExpect(jsonPath("$[0].status").value(oldSlug));
+
+        var newSlug = oldSlug + "_renamed";
+        var update = new TaskStatusUpdateDTO();
+        update.setSlug(JsonNullable.of(newSlug));
+
+        mockMvc.perform(put("/api/task_statuses/" + taskStatus.getId())
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks").queryParam("status", oldSlug).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(hasSize(0)));
+
+        mockMvc.perform(get("/api/tasks").queryParam("status", newSlug.toUpperCase()).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(hasSize(1)))
+                .andExpect(jsonPath("$[0].status").value(newSlug));
+
+        assertEquals(newSlug, taskService.getById(task.getId()).getStatus());
+
+        taskService.delete(task.getId());
+    }
+
     @Test
     void testPartlyUpdate() throws Exception {
         var taskStatusForUpdate = taskStatusRepository.findBySlug(testTaskStatus.getSlug()).orElseThrow();
@@ -6,7 +6,9 @@ import hexlet.code.dto.user.UserCreateDTO;
 import hexlet.code.dto.user.UserUpdateDTO;
 import hexlet.code.mapper.UserMapper;
 import hexlet.code.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
 import net.datafaker.Faker;
+import org.hibernate.SessionFactory;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,10 +19,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -54,6 +62,12 @@ public class UserControllerSecurityTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtEncoder jwtEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private static String token;
     private static final int USER_LIST_SIZE = 10;
     private static final int MIDDLE_OF_THE_LIST = USER_LIST_SIZE / 2;
@@ -142,4 +156,31 @@ public class UserControllerSecurityTest {
 
         assertTrue(userRepository.findById(userId).isPresent());
     }
+
+    @Test
+    void testOwnerCheckWithoutQueries() throws Exception {
+        var userId = userRepository.findAll().get(MIDDLE_OF_THE_LIST).getId();
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(delete("/api/users/" + userId).header("Authorization", token))
+                .andExpect(status().isForbidden());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testTokenWithoutUserIdClaim() throws Exception {
+        var now = Instant.now();
+        var claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                .subject(testUser.getEmail())
+                .build();
+        var legacyToken = jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().isUnauthorized());
+    }
 }